@@ -8,10 +8,13 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -45,10 +48,25 @@ public class BookingClient extends BaseClient {
         return get("/owner/?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getBookerCounters(Long userId) {
+        return get("/counters", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerCounters(Long userId) {
+        return get("/owner/counters", userId);
+    }
+
     public ResponseEntity<Object> createBooking(Long userId, BookItemRequest request) {
         return post("", userId, request);
     }
 
+    public ResponseEntity<Object> getBookingsByIds(Long userId, List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get("?ids={ids}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -58,4 +76,10 @@ public class BookingClient extends BaseClient {
 
         return patch("/" + bookingId + "/?approved={approved}", userId, parameters, null);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> updateStatusBookings(Long userId, Boolean approved, BookingApprovalRequest request) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+
+        return patch("/approvals?approved={approved}", userId, parameters, request);
+    }
+}
@@ -7,12 +7,14 @@ import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,6 +24,7 @@ import javax.validation.constraints.PositiveOrZero;
 public class BookingController {
     private final BookingClient bookingClient;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_IDS = 100;
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader(name = USER_ID_HEADER) Long userId,
@@ -48,6 +51,17 @@ public class BookingController {
         return bookingClient.createBooking(userId, request);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getBookingsByIds(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                                   @RequestParam List<Long> ids) {
+        log.info("Get bookings by ids={}, userId={}", ids, userId);
+
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new NoCorrectRequestException("Number of ids must be between 1 and " + MAX_IDS);
+        }
+        return bookingClient.getBookingsByIds(userId, ids);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                              @PathVariable Long bookingId) {
@@ -69,6 +83,28 @@ public class BookingController {
         return bookingClient.getBookingsByOwnerId(userId, state, from, size);
     }
 
+    @GetMapping("/counters")
+    public ResponseEntity<Object> getBookerCounters(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        log.info("Get booking counters, userId={}", userId);
+
+        return bookingClient.getBookerCounters(userId);
+    }
+
+    @GetMapping("/owner/counters")
+    public ResponseEntity<Object> getOwnerCounters(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        log.info("Get owner booking counters, userId={}", userId);
+
+        return bookingClient.getOwnerCounters(userId);
+    }
+
+
+    @PatchMapping("/approvals")
+    public ResponseEntity<Object> updateStatusBookings(@RequestHeader(name = USER_ID_HEADER) Long ownerId,
+                                                       @RequestParam Boolean approved,
+                                                       @RequestBody @Valid BookingApprovalRequest request) {
+        log.info("Update status bookings {}, userId={}", request.getBookingIds(), ownerId);
+        return bookingClient.updateStatusBookings(ownerId, approved, request);
+    }
 
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateStatusBooking(@RequestHeader(name = USER_ID_HEADER) Long ownerId,
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalRequest {
+	@NotEmpty(message = "Booking ids cannot be empty or null")
+	@Size(max = 100, message = "Number of booking ids cannot be greater than 100")
+	private List<@NotNull(message = "Booking id cannot be null") Long> bookingIds;
+}
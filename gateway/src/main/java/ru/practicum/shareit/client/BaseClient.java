@@ -1,14 +1,22 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    private static final int STREAM_BUFFER_SIZE = 4096;
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -79,6 +87,37 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+
+        ClientHttpResponse response = request.execute();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                return ResponseEntity.status(response.getRawStatusCode())
+                        .contentType(response.getHeaders().getContentType())
+                        .body(out -> out.write(body));
+            }
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(out -> {
+                    try (response) {
+                        InputStream in = response.getBody();
+                        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                            out.flush();
+                        }
+                    }
+                });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
@@ -11,7 +11,12 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.comment.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -27,12 +32,13 @@ public class ItemClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getAllItemsByUserId(Long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllItemsByUserId(Long userId, Integer from, Integer size, Boolean comments) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "size", size,
+                "comments", comments
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("?from={from}&size={size}&comments={comments}", userId, parameters);
     }
 
     public ResponseEntity<Object> searchItemByText(Long userId, String text, Integer from, Integer size) {
@@ -44,6 +50,44 @@ public class ItemClient extends BaseClient {
         return get("/search/?text={text}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> searchItemByText(Long userId, String text, LocalDateTime availableFrom,
+                                                   LocalDateTime availableTo, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "availableFrom", availableFrom,
+                "availableTo", availableTo,
+                "from", from,
+                "size", size
+        );
+        return get("/search/?text={text}&availableFrom={availableFrom}&availableTo={availableTo}" +
+                "&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> searchItemsNearby(Long userId, String text, Double lat, Double lon, Double radiusKm,
+                                                    Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("lat", lat);
+        parameters.put("lon", lon);
+        parameters.put("radiusKm", radiusKm);
+        parameters.put("from", from);
+        parameters.put("size", size);
+
+        String path = "/search/?lat={lat}&lon={lon}&radiusKm={radiusKm}&from={from}&size={size}";
+        if (text != null) {
+            parameters.put("text", text);
+            path += "&text={text}";
+        }
+        return get(path, userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(Long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/search/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> createItem(Long userId, ItemRequest request) {
         return post("", userId, request);
     }
@@ -52,10 +96,48 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
+    public ResponseEntity<Object> getItemsByIds(Long userId, List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get("?ids={ids}", userId, parameters);
+    }
+
     public ResponseEntity<Object> updateItemById(Long userId, Long itemId, ItemRequest request) {
         return patch("/" + itemId, userId, request);
     }
 
+    public ResponseEntity<Object> getComments(Long userId, Long itemId, Long before, Integer size) {
+        if (before == null) {
+            return get("/" + itemId + "/comments?size={size}", userId, Map.of("size", size));
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "before", before,
+                "size", size
+        );
+        return get("/" + itemId + "/comments?before={before}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> query = new ArrayList<>();
+        if (from != null) {
+            parameters.put("from", from);
+            query.add("from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            query.add("to={to}");
+        }
+
+        String path = "/" + itemId + "/availability";
+        if (query.isEmpty()) {
+            return get(path, userId);
+        }
+        return get(path + "?" + String.join("&", query), userId, parameters);
+    }
+
     public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentRequest request) {
         return post("/" + itemId + "/comment", userId, request);
     }
@@ -2,14 +2,19 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.item.comment.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemRequest;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -19,14 +24,28 @@ import javax.validation.constraints.Min;
 public class ItemController {
     private final ItemClient itemClient;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_IDS = 100;
+    private static final int MAX_RADIUS_KM = 100;
 
     @GetMapping
     public ResponseEntity<Object> getUserItems(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                                @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                               @RequestParam(defaultValue = "10") @Min(1) Integer size) {
-        log.info("Get users items, userId={}", userId);
+                                               @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                               @RequestParam(defaultValue = "false") Boolean comments) {
+        log.info("Get users items, userId={}, comments={}", userId, comments);
 
-        return itemClient.getAllItemsByUserId(userId, from, size);
+        return itemClient.getAllItemsByUserId(userId, from, size, comments);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getItemsByIds(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                                @RequestParam List<Long> ids) {
+        log.info("Get items by ids={}, userId={}", ids, userId);
+
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new NoCorrectRequestException("Number of ids must be between 1 and " + MAX_IDS);
+        }
+        return itemClient.getItemsByIds(userId, ids);
     }
 
     @PostMapping
@@ -53,12 +72,56 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItems(@RequestHeader(name = USER_ID_HEADER) Long userId, @RequestParam String text,
+    public ResponseEntity<Object> getItems(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                           @RequestParam(required = false) String text,
                                            @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                           @RequestParam(defaultValue = "10") @Min(1) Integer size) {
-        log.info("Search items, with text={}, userId={}", text, userId);
+                                           @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime availableFrom,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime availableTo,
+                                           @RequestParam(required = false) Double lat,
+                                           @RequestParam(required = false) Double lon,
+                                           @RequestParam(required = false) Double radiusKm) {
+        log.info("Search items, with text={}, availableFrom={}, availableTo={}, lat={}, lon={}, radiusKm={}, userId={}",
+                text, availableFrom, availableTo, lat, lon, radiusKm, userId);
+
+        if (lat != null || lon != null || radiusKm != null) {
+            if (lat == null || lon == null || radiusKm == null || availableFrom != null || availableTo != null) {
+                throw new NoCorrectRequestException("Parameters lat, lon and radiusKm must be set together " +
+                        "and cannot be combined with an availability window");
+            }
+            if (Math.abs(lat) > 90 || Math.abs(lon) > 180 || radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+                throw new NoCorrectRequestException("Parameters lat and lon must be valid coordinates " +
+                        "and radiusKm must be between 0 and " + MAX_RADIUS_KM);
+            }
+            return itemClient.searchItemsNearby(userId, text, lat, lon, radiusKm, from, size);
+        }
+
+        if (text == null) {
+            throw new NoCorrectRequestException("Parameter text is required");
+        }
+
+        if (availableFrom == null && availableTo == null) {
+            return itemClient.searchItemByText(userId, text, from, size);
+        }
+
+        if (availableFrom == null || availableTo == null || !availableTo.isAfter(availableFrom)) {
+            throw new NoCorrectRequestException("Parameters availableFrom and availableTo must be set together " +
+                    "and availableTo must be after availableFrom");
+        }
+        return itemClient.searchItemByText(userId, text, availableFrom, availableTo, from, size);
+    }
+
+    @GetMapping("/search/suggest")
+    public ResponseEntity<Object> suggest(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                          @RequestParam String prefix,
+                                          @RequestParam(defaultValue = "10") @Min(1) @Max(50) Integer size) {
+        log.info("Suggest items, with prefix={}, size={}, userId={}", prefix, size, userId);
 
-        return itemClient.searchItemByText(userId, text, from, size);
+        return itemClient.suggest(userId, prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -69,4 +132,28 @@ public class ItemController {
         return itemClient.createComment(userId, itemId, request);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader(name = USER_ID_HEADER) Long userId, @PathVariable Long itemId,
+                                              @RequestParam(required = false) Long before,
+                                              @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Get comments for item with id={}, before={}, size={}, userId={}", itemId, before, size, userId);
+
+        return itemClient.getComments(userId, itemId, before, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                                  @PathVariable Long itemId,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability for item with id={}, from={}, to={}, userId={}", itemId, from, to, userId);
+
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new NoCorrectRequestException("Parameter to must be after from");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
 }
@@ -6,10 +6,13 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -34,6 +37,20 @@ public class ItemRequestClient extends BaseClient {
         return get("/all/?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getRequestsOtherUsersAfter(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                             Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "afterCreated", afterCreated,
+                "afterId", afterId,
+                "size", size
+        );
+        return get("/all/?afterCreated={afterCreated}&afterId={afterId}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamRequestsOtherUsers(Long userId) throws IOException {
+        return stream("/stream", userId);
+    }
+
     public ResponseEntity<Object> getOwnerRequestsByUser(Long userId) {
         return get("", userId);
     }
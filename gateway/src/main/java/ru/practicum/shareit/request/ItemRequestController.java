@@ -2,13 +2,19 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -37,12 +43,32 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequestOtherUsers(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                                   @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
-                                                  @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
+                                                  @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+                                                  @RequestParam(name = "afterCreated", required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime afterCreated,
+                                                  @RequestParam(name = "afterId", required = false) Long afterId) {
         log.info("Get other users requests by user with id={}, userId={}", userId, userId);
 
+        if ((afterCreated == null) != (afterId == null)) {
+            throw new NoCorrectRequestException("Parameters afterCreated and afterId must be set together");
+        }
+
+        if (afterCreated != null) {
+            return itemRequestClient.getRequestsOtherUsersAfter(userId, afterCreated, afterId, size);
+        }
+
         return itemRequestClient.getRequestsOtherUsers(userId, from, size);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRequestOtherUsers(
+            @RequestHeader(name = USER_ID_HEADER) Long userId) throws IOException {
+        log.info("Stream other users requests, userId={}", userId);
+
+        return itemRequestClient.streamRequestsOtherUsers(userId);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getRequest(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                                    @PathVariable(name = "requestId") Long requestId) {
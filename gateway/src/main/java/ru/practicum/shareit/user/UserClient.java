@@ -10,6 +10,10 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
@@ -32,6 +36,12 @@ public class UserClient extends BaseClient {
         return get("/" + userId);
     }
 
+    public ResponseEntity<Object> getUsersByIds(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get("?ids={ids}", null, parameters);
+    }
 
     public ResponseEntity<Object> createUser(UserDto request) {
         return post("", request);
@@ -5,9 +5,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -16,6 +18,7 @@ import javax.validation.Valid;
 @Validated
 public class UserController {
     private final UserClient userClient;
+    private static final int MAX_IDS = 100;
 
     @GetMapping("/{userId}")
     public ResponseEntity<Object> getUser(@PathVariable Long userId) {
@@ -24,6 +27,16 @@ public class UserController {
         return userClient.getUserById(userId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getUsersByIds(@RequestParam List<Long> ids) {
+        log.info("Get users by ids={}", ids);
+
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new NoCorrectRequestException("Number of ids must be between 1 and " + MAX_IDS);
+        }
+        return userClient.getUsersByIds(ids);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getAllUsers() {
         log.info("Get all users");
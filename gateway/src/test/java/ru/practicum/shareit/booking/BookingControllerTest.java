@@ -9,6 +9,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookItemRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequest;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
@@ -16,6 +17,7 @@ import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -209,4 +211,68 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getBookerCounters_statusIsOk_requestIsCorrect() throws Throwable {
+        mvc.perform(get("/bookings/counters")
+                        .header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getOwnerCounters_statusIsOk_requestIsCorrect() throws Throwable {
+        mvc.perform(get("/bookings/owner/counters")
+                        .header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void updateBookings_statusIsOk_requestIsCorrect() throws Exception {
+        BookingApprovalRequest request = new BookingApprovalRequest(List.of(1L, 2L));
+
+        mvc.perform(patch("/bookings/approvals?approved=true")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void updateBookings_statusBadRequest_bookingIdsIsEmpty() throws Exception {
+        BookingApprovalRequest request = new BookingApprovalRequest(List.of());
+
+        mvc.perform(patch("/bookings/approvals?approved=true")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void updateBookings_statusBadRequest_tooManyBookingIds() throws Exception {
+        BookingApprovalRequest request = new BookingApprovalRequest(Collections.nCopies(101, 1L));
+
+        mvc.perform(patch("/bookings/approvals?approved=true")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getBookingsByIds_statusIsOk_requestIsCorrect() throws Throwable {
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("ids", "1,2,3"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getBookingsByIds_statusBadRequest_tooManyIds() throws Throwable {
+        String ids = String.join(",", Collections.nCopies(101, "1"));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+}
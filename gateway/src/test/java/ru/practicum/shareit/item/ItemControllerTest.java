@@ -16,13 +16,16 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
 import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -133,4 +136,110 @@ class ItemControllerTest {
         verify(itemClient, never()).createComment(anyLong(), anyLong(), any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getItemsByIds_statusIsOk_idsParamPresent() throws Exception {
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("ids", "1,2"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getItemsByIds(eq(1L), eq(List.of(1L, 2L)));
+        verify(itemClient, never()).getAllItemsByUserId(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void getComments_statusIsOk_beforeIsAbsent() throws Exception {
+        mvc.perform(get("/items/1/comments")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getComments(eq(1L), eq(1L), eq(null), eq(20));
+    }
+
+    @Test
+    void getUserItems_commentsRequested_commentsParamPresent() throws Exception {
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("comments", "true"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getAllItemsByUserId(eq(1L), eq(0), eq(10), eq(true));
+    }
+
+    @Test
+    void getAvailability_statusBadRequest_toIsBeforeFrom() throws Exception {
+        mvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2023-06-10T10:00:00")
+                        .param("to", "2023-06-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void getAvailability_statusIsOk_rangeIsAbsent() throws Exception {
+        mvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getAvailability(eq(1L), eq(1L), eq(null), eq(null));
+    }
+
+    @Test
+    void getItems_statusBadRequest_onlyAvailableFromPresent() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "drill")
+                        .param("availableFrom", "2023-07-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).searchItemByText(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getItems_windowForwarded_availabilityWindowPresent() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "drill")
+                        .param("availableFrom", "2023-07-01T10:00:00")
+                        .param("availableTo", "2023-07-03T10:00:00"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).searchItemByText(1L, "drill", LocalDateTime.of(2023, 7, 1, 10, 0),
+                LocalDateTime.of(2023, 7, 3, 10, 0), 0, 10);
+    }
+
+    @Test
+    void suggest_prefixForwarded_sizeNotPresent() throws Exception {
+        mvc.perform(get("/items/search/suggest")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("prefix", "dri"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).suggest(1L, "dri", 10);
+    }
+
+    @Test
+    void getItems_statusBadRequest_coordinatesIncomplete() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("lat", "55.75")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).searchItemsNearby(anyLong(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getItems_coordinatesForwarded_textNotPresent() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("lat", "55.75")
+                        .param("lon", "37.61")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).searchItemsNearby(1L, null, 55.75, 37.61, 5.0, 0, 10);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ItemRequestClientTest {
+    ItemRequestClient client;
+
+    MockRestServiceServer server;
+
+    @BeforeEach
+    void prepare() {
+        client = new ItemRequestClient("http://localhost:9090", new RestTemplateBuilder());
+        server = MockRestServiceServer.bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest")).build();
+    }
+
+    @Test
+    void streamRequestsOtherUsers_serverStreamForwarded_userIdIsSet() throws Exception {
+        server.expect(requestTo("http://localhost:9090/requests/stream"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("event:request\ndata:{\"id\":1}\n\n", MediaType.TEXT_EVENT_STREAM));
+
+        ResponseEntity<StreamingResponseBody> response = client.streamRequestsOtherUsers(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        assertEquals("event:request\ndata:{\"id\":1}\n\n", body(response));
+        server.verify();
+    }
+
+    @Test
+    void streamRequestsOtherUsers_serverStatusReturned_userNotFound() throws Exception {
+        server.expect(requestTo("http://localhost:9090/requests/stream"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"User with id='1' not found\"}"));
+
+        ResponseEntity<StreamingResponseBody> response = client.streamRequestsOtherUsers(1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"error\":\"User with id='1' not found\"}", body(response));
+    }
+
+    private String body(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -6,14 +6,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,7 +27,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -77,4 +87,62 @@ class ItemRequestControllerTest {
 
         verify(client, never()).createRequest(anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequestOtherUsers_statusBadRequest_cursorIsIncomplete() throws Exception {
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("afterCreated", "2023-06-11T01:13:30"))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).getRequestsOtherUsersAfter(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void getAllRequestOtherUsers_cursorIsForwarded_cursorIsSet() throws Exception {
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("afterCreated", "2023-06-11T01:13:30")
+                        .param("afterId", "5"))
+                .andExpect(status().isOk());
+
+        verify(client).getRequestsOtherUsersAfter(1L, LocalDateTime.of(2023, 6, 11, 1, 13, 30), 5L, 10);
+        verify(client, never()).getRequestsOtherUsers(anyLong(), any(), any());
+    }
+
+    @Test
+    void streamRequestOtherUsers_serverStreamForwarded_userIdIsSet() throws Exception {
+        when(client.streamRequestsOtherUsers(anyLong()))
+                .thenReturn(ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(out -> out.write("event:request\ndata:{\"id\":1}\n\n".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/requests/stream")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("event:request\ndata:{\"id\":1}\n\n"));
+
+        verify(client).streamRequestsOtherUsers(1L);
+    }
+
+    @Test
+    void streamRequestOtherUsers_statusNotFound_serverRejectedUser() throws Exception {
+        when(client.streamRequestsOtherUsers(anyLong()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(out -> out.write("{\"error\":\"User with id='1' not found\"}"
+                                .getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/requests/stream")
+                        .header("X-Sharer-User-Id", "1"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
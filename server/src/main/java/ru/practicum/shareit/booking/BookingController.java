@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalResult;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
@@ -27,6 +30,19 @@ public class BookingController {
         return bookingService.updateStatusById(bookingId, approved, userId);
     }
 
+    @PatchMapping("/approvals")
+    public List<BookingApprovalResult> changeBookingStatuses(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                                             @RequestParam(name = "approved") Boolean approved,
+                                                             @RequestBody BookingApprovalRequest request) {
+        return bookingService.updateStatusByIds(request.getBookingIds(), approved, userId);
+    }
+
+    @GetMapping(params = "ids")
+    public List<BookingResponse> getBookingsByIds(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                                  @RequestParam(name = "ids") List<Long> ids) {
+        return bookingService.getBookingsByIds(ids, userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponse getBookingInfo(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                           @PathVariable(name = "bookingId") Long bookingId) {
@@ -49,4 +65,14 @@ public class BookingController {
         return bookingService.getBookingsByOwnerId(userId, state, from, size);
     }
 
+    @GetMapping("/counters")
+    public Map<BookingState, Long> getBookerCounters(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        return bookingService.getBookerCounters(userId);
+    }
+
+    @GetMapping("/owner/counters")
+    public Map<BookingState, Long> getOwnerCounters(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        return bookingService.getOwnerCounters(userId);
+    }
+
 }
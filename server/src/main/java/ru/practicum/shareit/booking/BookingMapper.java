@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingShort;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +29,18 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingShort objectToShort(Booking booking) {
+        return BookingShort.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBooker().getId())
+                .ownerId(booking.getItem().getOwner().getId())
+                .itemId(booking.getItem().getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus())
+                .build();
+    }
+
     public static Booking dtoToObject(BookingRequest bookingDto) {
         return Booking.builder()
                 .start(bookingDto.getStart())
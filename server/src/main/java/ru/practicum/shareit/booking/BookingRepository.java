@@ -2,37 +2,133 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
+    String SELECT_PAST = "SELECT id, start_date, end_date, item_id, booker_id, status ";
+    String ORDER_PAST = "ORDER BY past.start_date DESC, past.id DESC LIMIT ?3 OFFSET ?4";
+    String SELECT_SHORT = "SELECT b.id AS id, b.booker_id AS bookerId, i.owner_id AS ownerId, b.item_id AS itemId, " +
+            "b.start_date AS startDate, b.end_date AS endDate, b.status AS status FROM (";
+    String FROM_SHORT = ") b JOIN items i ON i.id = b.item_id";
+
+    @Query(value = "SELECT * FROM (" +
+            SELECT_PAST + "FROM bookings WHERE booker_id = ?1 AND start_date < ?2 AND end_date < ?2 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE booker_id = ?1 AND end_date < ?2) past " +
+            ORDER_PAST, nativeQuery = true)
+    List<Booking> findPastByBookerId(Long bookerId, LocalDateTime now, int limit, long offset);
+
+    @Query(value = "SELECT * FROM (" +
+            SELECT_PAST + "FROM bookings WHERE booker_id = ?1 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE booker_id = ?1) history " +
+            "ORDER BY history.start_date DESC, history.id DESC LIMIT ?2 OFFSET ?3", nativeQuery = true)
+    List<Booking> findHistoryByBookerId(Long bookerId, int limit, long offset);
+
+    @Query(value = "SELECT * FROM (" +
+            SELECT_PAST + "FROM bookings WHERE booker_id = ?1 AND status = ?2 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE booker_id = ?1 AND status = ?2) past " +
+            ORDER_PAST, nativeQuery = true)
+    List<Booking> findHistoryByBookerIdAndStatus(Long bookerId, String status, int limit, long offset);
 
     List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
     List<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
 
-    List<Booking> findAllByItemIdIn(List<Long> itemId, Pageable pageable);
-
-    List<Booking> findByItemIdInAndStartIsBeforeAndEndIsAfter(List<Long> itemId, LocalDateTime date, LocalDateTime date1, Pageable pageable);
+    @Query(value = "SELECT * FROM (" +
+            SELECT_PAST + "FROM bookings WHERE item_id IN ?1 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE item_id IN ?1) history " +
+            "ORDER BY history.start_date DESC, history.id DESC LIMIT ?2 OFFSET ?3", nativeQuery = true)
+    List<Booking> findHistoryByItemIdIn(List<Long> itemIds, int limit, long offset);
 
-    List<Booking> findByItemIdInAndEndIsBefore(List<Long> itemId, LocalDateTime date, Pageable pageable);
+    @Query(value = "SELECT * FROM (" +
+            SELECT_PAST + "FROM bookings WHERE item_id IN ?1 AND status = ?2 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE item_id IN ?1 AND status = ?2) past " +
+            ORDER_PAST, nativeQuery = true)
+    List<Booking> findHistoryByItemIdInAndStatus(List<Long> itemIds, String status, int limit, long offset);
 
-    List<Booking> findByItemIdInAndStartIsAfterAndStatusIs(List<Long> itemId, LocalDateTime date, BookingStatus bookingStatus, Pageable pageable);
+    List<Booking> findByItemIdInAndStartIsBeforeAndEndIsAfter(List<Long> itemId, LocalDateTime date, LocalDateTime date1, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartIsAfterAndStatusIs(Long userId, LocalDateTime date, BookingStatus bookingStatus, Pageable pageable);
+    @Query(value = "SELECT * FROM (" +
+            SELECT_PAST + "FROM bookings WHERE item_id IN ?1 AND start_date < ?2 AND end_date < ?2 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE item_id IN ?1 AND end_date < ?2) past " +
+            ORDER_PAST, nativeQuery = true)
+    List<Booking> findPastByItemIdIn(List<Long> itemIds, LocalDateTime now, int limit, long offset);
 
     List<Booking> findByItemIdInAndStartIsAfter(List<Long> itemIdList, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByItemIdIn(List<Long> itemId);
-
-    List<Booking> findByItemIdAndEndIsBefore(Long itemId, LocalDateTime date);
-
-    List<Booking> findAllByItemId(Long id);
+    @Query(value = SELECT_PAST + "FROM bookings WHERE item_id IN ?1 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE item_id IN ?1", nativeQuery = true)
+    List<Booking> findAllHistoryByItemIdIn(List<Long> itemIds);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM bookings " +
+            "WHERE item_id = ?1 AND booker_id = ?2 AND end_date < ?3 AND status = 'APPROVED') " +
+            "OR EXISTS (SELECT 1 FROM bookings_archive " +
+            "WHERE item_id = ?1 AND booker_id = ?2 AND end_date < ?3 AND status = 'APPROVED')", nativeQuery = true)
+    boolean existsApprovedByItemIdAndBookerIdAndEndBefore(Long itemId, Long bookerId, LocalDateTime date);
+
+    @Query(value = SELECT_PAST + "FROM bookings_archive WHERE id = ?1 LIMIT 1", nativeQuery = true)
+    Optional<Booking> findArchivedById(Long id);
+
+    @Query(value = SELECT_PAST + "FROM bookings WHERE item_id = ?1 " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive WHERE item_id = ?1", nativeQuery = true)
+    List<Booking> findAllHistoryByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingPeriod(b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status IN ?2 ORDER BY b.start")
+    List<BookingPeriod> findAllPeriodsByItemIdAndStatusIn(Long itemId, Collection<BookingStatus> statuses);
+
+    @Query(value = SELECT_SHORT +
+            SELECT_PAST + "FROM bookings " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive" + FROM_SHORT, nativeQuery = true)
+    List<BookingShortView> findAllShortWithArchive();
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id, b.item.owner.id, b.item.id, " +
+            "b.start, b.end, b.status) FROM Booking b WHERE b.start > ?1 AND b.start <= ?2")
+    List<BookingShort> findAllShortByStartBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id, b.item.owner.id, b.item.id, " +
+            "b.start, b.end, b.status) FROM Booking b WHERE b.end > ?1 AND b.end <= ?2")
+    List<BookingShort> findAllShortByEndBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner JOIN FETCH b.booker WHERE b.id IN ?1")
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Long> ids);
+
+    @Query(value = SELECT_SHORT +
+            SELECT_PAST + "FROM bookings " +
+            "UNION ALL " +
+            SELECT_PAST + "FROM bookings_archive" + FROM_SHORT + " " +
+            "WHERE b.booker_id = ?1 OR i.owner_id = ?1", nativeQuery = true)
+    List<BookingShortView> findAllShortWithArchiveByUserId(Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?2 " +
+            "WHERE b.id = ?1 AND b.status = ru.practicum.shareit.booking.BookingStatus.WAITING")
+    int updateStatusByIdIfWaiting(Long id, BookingStatus status);
+
+    @Query(value = "SELECT id FROM bookings WHERE id IN ?1 ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?2 " +
+            "WHERE b.id IN ?1 AND b.status = ru.practicum.shareit.booking.BookingStatus.WAITING")
+    int updateStatusByIdInIfWaiting(Collection<Long> ids, BookingStatus status);
 }
@@ -1,26 +1,39 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResult;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     BookingResponse createBooking(Long userId, BookingRequest bookingRequest);
 
     BookingResponse updateStatusById(Long bookingId, Boolean approved, Long userId);
 
+    List<BookingApprovalResult> updateStatusByIds(List<Long> bookingIds, Boolean approved, Long userId);
+
+    List<BookingResponse> getBookingsByIds(List<Long> ids, Long userId);
+
     BookingResponse getBookingById(Long bookingId, Long userId);
 
     List<BookingResponse> getBookingsByBookerId(Long userId, String state, int from, int size);
 
     List<BookingResponse> getBookingsByOwnerId(Long userId, String state, int from, int size);
 
+    Map<BookingState, Long> getBookerCounters(Long userId);
+
+    Map<BookingState, Long> getOwnerCounters(Long userId);
+
     List<Booking> getAllByItemId(Long id);
 
     List<Booking> getAllByItemIdIn(List<Long> itemsId);
 
-    List<Booking> getAllByItemAndEndBeforeDate(Long itemId, LocalDateTime created);
+    boolean hasFinishedBooking(Long itemId, Long bookerId, LocalDateTime date);
+
+    List<BookingPeriod> getBusyPeriodsByItemId(Long itemId);
 }
 
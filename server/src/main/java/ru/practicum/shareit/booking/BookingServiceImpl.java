@@ -6,28 +6,57 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.BookingSegmentStore;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.dto.BookingApprovalResult;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.transition.BookingTransitionScheduler;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.AvailabilityCache;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.TransactionUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_IDS = 100;
+    private static final Comparator<Booking> NEWEST_FIRST = Comparator.comparing(Booking::getStart).reversed()
+            .thenComparing(Comparator.comparing(Booking::getId).reversed());
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final BookingCounterService bookingCounterService;
+    private final BookingTransitionScheduler bookingTransitionScheduler;
+    private final Outbox outbox;
+    private final AvailabilityCache availabilityCache;
+    private final BookingSegmentStore bookingSegmentStore;
 
     @Override
     @Transactional
@@ -52,7 +81,11 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(BookingStatus.WAITING);
 
         Booking savedBooking = bookingRepository.save(booking);
-        return BookingMapper.objectToDto(savedBooking);
+        bookingTransitionScheduler.onCreated(BookingMapper.objectToShort(savedBooking));
+        TransactionUtils.afterCommit(() -> availabilityCache.evict(item.getId()));
+        BookingResponse created = BookingMapper.objectToDto(savedBooking);
+        outbox.record(AggregateType.BOOKING, created.getId(), EventType.CREATED, created);
+        return created;
     }
 
     @Override
@@ -68,19 +101,96 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getStatus().equals(BookingStatus.WAITING))
             throw new NoCorrectRequestException("Booker status must be WAITING.");
 
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        if (bookingRepository.updateStatusByIdIfWaiting(id, status) == 0)
+            throw new NoCorrectRequestException("Booker status must be WAITING.");
+
+        booking.setStatus(status);
+        bookingCounterService.onStatusChanged(BookingMapper.objectToShort(booking), BookingStatus.WAITING);
+        TransactionUtils.afterCommit(() -> availabilityCache.evict(booking.getItem().getId()));
+        BookingResponse updated = BookingMapper.objectToDto(booking);
+        outbox.record(AggregateType.BOOKING, id, EventType.STATUS_CHANGED, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingApprovalResult> updateStatusByIds(List<Long> bookingIds, Boolean approved, Long userId) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new NoValidArgumentException("The list of booking ids cannot be empty");
+        }
+        if (bookingIds.size() > MAX_IDS) {
+            throw new NoValidArgumentException("Number of booking ids cannot be greater than " + MAX_IDS);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        List<Long> lockedIds = bookingRepository.lockAllByIdIn(ids);
+        Map<Long, Booking> bookings = lockedIds.isEmpty() ? Map.of() : bookingRepository
+                .findAllWithItemAndBookerByIdIn(lockedIds)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<Long, BookingApprovalResult> results = new HashMap<>();
+        List<Long> waitingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, new BookingApprovalResult(id, BookingApprovalResult.Outcome.NOT_FOUND, null));
+            } else if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
+                results.put(id, new BookingApprovalResult(id, BookingApprovalResult.Outcome.NOT_OWNER, null));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.put(id, new BookingApprovalResult(id, BookingApprovalResult.Outcome.NOT_WAITING,
+                        booking.getStatus()));
+            } else {
+                waitingIds.add(id);
+            }
         }
 
-        Booking savedBooking = bookingRepository.save(booking);
-        return BookingMapper.objectToDto(savedBooking);
+        if (!waitingIds.isEmpty()) {
+            bookingRepository.updateStatusByIdInIfWaiting(waitingIds, status);
+        }
+        for (Long id : waitingIds) {
+            Booking booking = bookings.get(id);
+            booking.setStatus(status);
+            bookingCounterService.onStatusChanged(BookingMapper.objectToShort(booking), BookingStatus.WAITING);
+            outbox.record(AggregateType.BOOKING, id, EventType.STATUS_CHANGED, BookingMapper.objectToDto(booking));
+            TransactionUtils.afterCommit(() -> availabilityCache.evict(booking.getItem().getId()));
+            results.put(id, new BookingApprovalResult(id, BookingApprovalResult.Outcome.UPDATED, status));
+        }
+
+        return ids.stream()
+                .map(results::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingResponse> getBookingsByIds(List<Long> ids, Long userId) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new NoValidArgumentException("Number of ids must be between 1 and " + MAX_IDS);
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(uniqueIds)
+                .stream()
+                .filter(booking -> Objects.equals(booking.getBooker().getId(), userId)
+                        || Objects.equals(booking.getItem().getOwner().getId(), userId))
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        return uniqueIds.stream()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .map(BookingMapper::objectToDto)
+                .collect(Collectors.toList());
     }
 
     @Override
     public BookingResponse getBookingById(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
+                .or(() -> bookingRepository.findArchivedById(bookingId))
+                .or(() -> findInSegments(bookingId, userId))
                 .orElseThrow(() -> new NoFoundObjectException(String.format("Booking with id='%s' not found", bookingId)));
 
         if (!Objects.equals(booking.getBooker().getId(), userId) && !Objects.equals(booking.getItem().getOwner().getId(), userId)) {
@@ -113,19 +223,23 @@ public class BookingServiceImpl implements BookingService {
                 bookings = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(userId, dateNow, dateNow, pageable);
                 break;
             case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndIsBefore(userId, dateNow, pageable);
+                bookings = withSegments(size, pageable.getOffset(),
+                        (limit, skip) -> bookingRepository.findPastByBookerId(userId, dateNow, limit, skip),
+                        limit -> bookingSegmentStore.findByBookerId(userId, limit));
                 break;
             case FUTURE:
                 bookings = bookingRepository.findByBookerIdAndStartIsAfter(userId, dateNow, pageable);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStartIsAfterAndStatusIs(userId, dateNow, BookingStatus.WAITING, pageable);
+                bookings = findByBookerIdAndStatus(userId, BookingStatus.WAITING, size, pageable.getOffset());
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStartIsAfterAndStatusIs(userId, dateNow, BookingStatus.REJECTED, pageable);
+                bookings = findByBookerIdAndStatus(userId, BookingStatus.REJECTED, size, pageable.getOffset());
                 break;
             case ALL:
-                bookings = bookingRepository.findAllByBookerId(userId, pageable);
+                bookings = withSegments(size, pageable.getOffset(),
+                        (limit, skip) -> bookingRepository.findHistoryByBookerId(userId, limit, skip),
+                        limit -> bookingSegmentStore.findByBookerId(userId, limit));
         }
         return BookingMapper.objectToDto(bookings);
     }
@@ -147,6 +261,9 @@ public class BookingServiceImpl implements BookingService {
                 .stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
+        if (itemIdList.isEmpty()) {
+            return List.of();
+        }
 
         List<Booking> bookings = new ArrayList<>();
         switch (bookingState) {
@@ -154,35 +271,120 @@ public class BookingServiceImpl implements BookingService {
                 bookings = bookingRepository.findByItemIdInAndStartIsBeforeAndEndIsAfter(itemIdList, dateNow, dateNow, pageable);
                 break;
             case PAST:
-                bookings = bookingRepository.findByItemIdInAndEndIsBefore(itemIdList, dateNow, pageable);
+                bookings = withSegments(size, pageable.getOffset(),
+                        (limit, skip) -> bookingRepository.findPastByItemIdIn(itemIdList, dateNow, limit, skip),
+                        limit -> bookingSegmentStore.findByItemIdIn(itemIdList, limit));
                 break;
             case FUTURE:
                 bookings = bookingRepository.findByItemIdInAndStartIsAfter(itemIdList, dateNow, pageable);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByItemIdInAndStartIsAfterAndStatusIs(itemIdList, dateNow, BookingStatus.WAITING, pageable);
+                bookings = findByItemIdInAndStatus(itemIdList, BookingStatus.WAITING, size, pageable.getOffset());
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByItemIdInAndStartIsAfterAndStatusIs(itemIdList, dateNow, BookingStatus.REJECTED, pageable);
+                bookings = findByItemIdInAndStatus(itemIdList, BookingStatus.REJECTED, size, pageable.getOffset());
                 break;
             case ALL:
-                bookings = bookingRepository.findAllByItemIdIn(itemIdList, pageable);
+                bookings = withSegments(size, pageable.getOffset(),
+                        (limit, skip) -> bookingRepository.findHistoryByItemIdIn(itemIdList, limit, skip),
+                        limit -> bookingSegmentStore.findByItemIdIn(itemIdList, limit));
         }
         return BookingMapper.objectToDto(bookings);
     }
 
+    @Override
+    public Map<BookingState, Long> getBookerCounters(Long userId) {
+        userService.checkExistUserById(userId);
+
+        return bookingCounterService.getByBookerId(userId);
+    }
+
+    @Override
+    public Map<BookingState, Long> getOwnerCounters(Long userId) {
+        userService.checkExistUserById(userId);
+
+        return bookingCounterService.getByOwnerId(userId);
+    }
+
     @Override
     public List<Booking> getAllByItemId(Long id) {
-        return bookingRepository.findAllByItemId(id);
+        return bookingRepository.findAllHistoryByItemId(id);
     }
 
     @Override
     public List<Booking> getAllByItemIdIn(List<Long> itemsId) {
-        return bookingRepository.findAllByItemIdIn(itemsId);
+        return bookingRepository.findAllHistoryByItemIdIn(itemsId);
     }
 
     @Override
-    public List<Booking> getAllByItemAndEndBeforeDate(Long itemId, LocalDateTime created) {
-        return bookingRepository.findByItemIdAndEndIsBefore(itemId, created);
+    public boolean hasFinishedBooking(Long itemId, Long bookerId, LocalDateTime date) {
+        return bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(itemId, bookerId, date) ||
+                !bookingSegmentStore.isEmpty() && bookingSegmentStore.existsApproved(itemId, bookerId, date);
+    }
+
+    @Override
+    public List<BookingPeriod> getBusyPeriodsByItemId(Long itemId) {
+        return bookingRepository.findAllPeriodsByItemIdAndStatusIn(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+    }
+
+    private Optional<Booking> findInSegments(Long bookingId, Long userId) {
+        if (bookingSegmentStore.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return bookingSegmentStore.findById(bookingId, userId, itemRepository.findIdsByOwnerId(userId))
+                .map(booking -> toBookings(List.of(booking)).get(0));
+    }
+
+    private List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, int size, long offset) {
+        return withSegments(size, offset,
+                (limit, skip) -> bookingRepository.findHistoryByBookerIdAndStatus(bookerId, status.name(), limit, skip),
+                limit -> bookingSegmentStore.findByBookerIdAndStatus(bookerId, status, limit));
+    }
+
+    private List<Booking> findByItemIdInAndStatus(List<Long> itemIds, BookingStatus status, int size, long offset) {
+        return withSegments(size, offset,
+                (limit, skip) -> bookingRepository.findHistoryByItemIdInAndStatus(itemIds, status.name(), limit, skip),
+                limit -> bookingSegmentStore.findByItemIdInAndStatus(itemIds, status, limit));
+    }
+
+    private List<Booking> withSegments(int size, long offset, BiFunction<Integer, Long, List<Booking>> live,
+                                       IntFunction<List<ArchivedBooking>> archived) {
+        if (bookingSegmentStore.isEmpty()) {
+            return live.apply(size, offset);
+        }
+
+        int limit = (int) Math.min(Integer.MAX_VALUE, offset + size);
+        Map<Long, Booking> merged = new HashMap<>();
+        live.apply(limit, 0L).forEach(booking -> merged.put(booking.getId(), booking));
+        toBookings(archived.apply(limit)).forEach(booking -> merged.putIfAbsent(booking.getId(), booking));
+        return merged.values().stream()
+                .sorted(NEWEST_FIRST)
+                .skip(offset)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private List<Booking> toBookings(List<ArchivedBooking> archived) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> itemIds = archived.stream().map(ArchivedBooking::getItemId).collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<Booking> bookings = new ArrayList<>();
+        archived.forEach(booking -> bookings.add(Booking.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(items.getOrDefault(booking.getItemId(), Item.builder().id(booking.getItemId()).build()))
+                .booker(User.builder().id(booking.getBookerId()).build())
+                .status(booking.getStatus())
+                .build()));
+        return bookings;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,219 @@
+package ru.practicum.shareit.booking.archive;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class BookingSegment {
+    private static final int MAGIC = 0x53424b47;
+    private static final byte VERSION = 1;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final Path path;
+    private final int size;
+    private final long[] bookerIds;
+    private final long[] itemIds;
+
+    private BookingSegment(Path path, int size, long[] bookerIds, long[] itemIds) {
+        this.path = path;
+        this.size = size;
+        this.bookerIds = bookerIds;
+        this.itemIds = itemIds;
+    }
+
+    public static BookingSegment write(Path path, List<ArchivedBooking> bookings) throws IOException {
+        List<ArchivedBooking> rows = new ArrayList<>(bookings);
+        rows.sort(Comparator.comparing(ArchivedBooking::getId));
+        long[] bookerIds = distinct(rows, ArchivedBooking::getBookerId);
+        long[] itemIds = distinct(rows, ArchivedBooking::getItemId);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(rows.size());
+            writeIds(out, bookerIds);
+            writeIds(out, itemIds);
+
+            DataOutputStream columns = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(out)));
+            writeColumns(columns, rows);
+            columns.close();
+        }
+        return new BookingSegment(path, rows.size(), bookerIds, itemIds);
+    }
+
+    public static BookingSegment open(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int size = readHeader(in, path);
+            return new BookingSegment(path, size, readIds(in), readIds(in));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean mayContainBooker(long bookerId) {
+        return Arrays.binarySearch(bookerIds, bookerId) >= 0;
+    }
+
+    public boolean mayContainAnyItem(Collection<Long> ids) {
+        return ids.stream().anyMatch(id -> Arrays.binarySearch(itemIds, id) >= 0);
+    }
+
+    public List<ArchivedBooking> read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            readHeader(in, path);
+            readIds(in);
+            readIds(in);
+            return readColumns(new DataInputStream(new BufferedInputStream(new GZIPInputStream(in))), size);
+        }
+    }
+
+    private static void writeColumns(DataOutput out, List<ArchivedBooking> rows) throws IOException {
+        long previous = 0;
+        for (ArchivedBooking row : rows) {
+            writeVarLong(out, row.getId() - previous);
+            previous = row.getId();
+        }
+
+        previous = 0;
+        for (ArchivedBooking row : rows) {
+            long start = row.getStart().toEpochSecond(ZoneOffset.UTC);
+            writeVarLong(out, start - previous);
+            previous = start;
+        }
+        for (ArchivedBooking row : rows) {
+            long start = row.getStart().toEpochSecond(ZoneOffset.UTC);
+            writeVarLong(out, row.getEnd().toEpochSecond(ZoneOffset.UTC) - start);
+        }
+        for (ArchivedBooking row : rows) {
+            writeVarLong(out, row.getStart().getNano());
+            writeVarLong(out, row.getEnd().getNano());
+        }
+        for (ArchivedBooking row : rows) {
+            writeVarLong(out, row.getItemId());
+        }
+        for (ArchivedBooking row : rows) {
+            writeVarLong(out, row.getBookerId());
+        }
+        for (ArchivedBooking row : rows) {
+            out.writeByte(row.getStatus().ordinal());
+        }
+    }
+
+    private static List<ArchivedBooking> readColumns(DataInput in, int size) throws IOException {
+        long[] ids = new long[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        int[] startNanos = new int[size];
+        int[] endNanos = new int[size];
+        long[] itemIds = new long[size];
+        long[] bookerIds = new long[size];
+
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += readVarLong(in);
+            ids[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += readVarLong(in);
+            starts[i] = previous;
+        }
+        for (int i = 0; i < size; i++) {
+            ends[i] = starts[i] + readVarLong(in);
+        }
+        for (int i = 0; i < size; i++) {
+            startNanos[i] = (int) readVarLong(in);
+            endNanos[i] = (int) readVarLong(in);
+        }
+        for (int i = 0; i < size; i++) {
+            itemIds[i] = readVarLong(in);
+        }
+        for (int i = 0; i < size; i++) {
+            bookerIds[i] = readVarLong(in);
+        }
+
+        List<ArchivedBooking> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new ArchivedBooking(ids[i],
+                    LocalDateTime.ofEpochSecond(starts[i], startNanos[i], ZoneOffset.UTC),
+                    LocalDateTime.ofEpochSecond(ends[i], endNanos[i], ZoneOffset.UTC),
+                    itemIds[i], bookerIds[i], STATUSES[in.readUnsignedByte()]));
+        }
+        return rows;
+    }
+
+    private static int readHeader(DataInput in, Path path) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Not a booking segment: " + path);
+        }
+        return in.readInt();
+    }
+
+    private static long[] distinct(List<ArchivedBooking> rows, Function<ArchivedBooking, Long> key) {
+        return rows.stream().mapToLong(key::apply).distinct().sorted().toArray();
+    }
+
+    private static void writeIds(DataOutput out, long[] ids) throws IOException {
+        out.writeInt(ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            writeVarLong(out, id - previous);
+            previous = id;
+        }
+    }
+
+    private static long[] readIds(DataInput in) throws IOException {
+        long[] ids = new long[in.readInt()];
+        long previous = 0;
+        for (int i = 0; i < ids.length; i++) {
+            previous += readVarLong(in);
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
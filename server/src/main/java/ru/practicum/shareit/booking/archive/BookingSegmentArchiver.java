@@ -0,0 +1,145 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.bookings.archive.path")
+public class BookingSegmentArchiver {
+    private static final String SELECT = "SELECT id, start_date, end_date, item_id, booker_id, status ";
+    private static final int MAX_BATCH_SIZE = 32767;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingSegmentStore store;
+    private final BookingCounterService bookingCounterService;
+    private final int afterMonths;
+    private final int batchSize;
+
+    public BookingSegmentArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  BookingSegmentStore store, BookingCounterService bookingCounterService,
+                                  @Value("${shareit.bookings.archive.after-months:24}") int afterMonths,
+                                  @Value("${shareit.bookings.archive.batch-size:10000}") int batchSize) {
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("shareit.bookings.archive.batch-size must be between 1 and " +
+                    MAX_BATCH_SIZE + ", got " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.store = store;
+        this.bookingCounterService = bookingCounterService;
+        this.afterMonths = afterMonths;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.archive.archive-ms:3600000}",
+            initialDelayString = "${shareit.bookings.archive.archive-ms:3600000}")
+    public void archive() {
+        archiveEndedBefore(LocalDateTime.now().minusMonths(afterMonths));
+    }
+
+    public int archiveEndedBefore(LocalDateTime cutoff) {
+        recoverPrepared();
+
+        int archived = 0;
+        List<ArchivedBooking> batch;
+        do {
+            batch = jdbcTemplate.query("SELECT * FROM (" +
+                            SELECT + "FROM bookings WHERE start_date < ? AND end_date < ? " +
+                            "UNION ALL " +
+                            SELECT + "FROM bookings_archive WHERE end_date < ?) old " +
+                            "ORDER BY old.id LIMIT ?",
+                    (rs, rowNum) -> new ArchivedBooking(rs.getLong("id"),
+                            rs.getTimestamp("start_date").toLocalDateTime(),
+                            rs.getTimestamp("end_date").toLocalDateTime(),
+                            rs.getLong("item_id"),
+                            rs.getLong("booker_id"),
+                            BookingStatus.valueOf(rs.getString("status"))),
+                    cutoff, cutoff, cutoff, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Path prepared = store.prepare(batch);
+            try {
+                delete(ids(batch));
+            } catch (RuntimeException e) {
+                store.discard(prepared);
+                throw e;
+            }
+            store.publish(prepared);
+            archived += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (archived > 0) {
+            log.info("Moved {} bookings ended before {} to archive segments", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private void recoverPrepared() {
+        for (Path prepared : store.findPrepared()) {
+            List<Long> ids;
+            try {
+                ids = ids(store.readPrepared(prepared));
+            } catch (UncheckedIOException e) {
+                log.warn("Discarding unreadable booking segment {}", prepared, e);
+                store.discard(prepared);
+                continue;
+            }
+
+            Long live = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" +
+                    "SELECT id FROM bookings UNION ALL SELECT id FROM bookings_archive) live " +
+                    "WHERE live.id IN (" + placeholders(ids) + ")", Long.class, ids.toArray());
+            if (live != null && live == 0) {
+                store.publish(prepared);
+            } else {
+                log.warn("Discarding booking segment {}, its bookings were not deleted", prepared);
+                store.discard(prepared);
+            }
+        }
+    }
+
+    private void delete(List<Long> ids) {
+        String placeholders = placeholders(ids);
+        Object[] args = ids.toArray();
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingCounterService.onDeleted(jdbcTemplate.query("SELECT b.id, b.booker_id, i.owner_id, b.item_id, " +
+                            "b.start_date, b.end_date, b.status FROM bookings b JOIN items i ON i.id = b.item_id " +
+                            "WHERE b.id IN (" + placeholders + ")",
+                    (rs, rowNum) -> new BookingShort(rs.getLong("id"),
+                            rs.getLong("booker_id"),
+                            rs.getLong("owner_id"),
+                            rs.getLong("item_id"),
+                            rs.getTimestamp("start_date").toLocalDateTime(),
+                            rs.getTimestamp("end_date").toLocalDateTime(),
+                            BookingStatus.valueOf(rs.getString("status"))),
+                    args));
+            jdbcTemplate.update("DELETE FROM bookings WHERE id IN (" + placeholders + ")", args);
+            jdbcTemplate.update("DELETE FROM bookings_archive WHERE id IN (" + placeholders + ")", args);
+        });
+    }
+
+    private static List<Long> ids(List<ArchivedBooking> bookings) {
+        return bookings.stream().map(ArchivedBooking::getId).collect(Collectors.toList());
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return ids.stream().map(id -> "?").collect(Collectors.joining(","));
+    }
+}
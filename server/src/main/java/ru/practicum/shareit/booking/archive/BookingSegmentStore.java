@@ -0,0 +1,210 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BookingSegmentStore {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String PREPARED_SUFFIX = ".tmp";
+    private static final Comparator<ArchivedBooking> NEWEST_FIRST = Comparator
+            .comparing(ArchivedBooking::getStart).reversed()
+            .thenComparing(Comparator.comparing(ArchivedBooking::getId).reversed());
+
+    private final Path directory;
+    private final List<BookingSegment> segments = new CopyOnWriteArrayList<>();
+    private final Map<BookingSegment, List<ArchivedBooking>> decoded;
+
+    public BookingSegmentStore(@Value("${shareit.bookings.archive.path:}") String directory,
+                               @Value("${shareit.bookings.archive.cache-segments:8}") int cacheSegments) {
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.decoded = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BookingSegment, List<ArchivedBooking>> eldest) {
+                return size() > cacheSegments;
+            }
+        };
+        if (this.directory != null) {
+            load();
+        }
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public synchronized Path prepare(List<ArchivedBooking> bookings) {
+        if (directory == null) {
+            throw new IllegalStateException("Booking archive path is not configured");
+        }
+
+        String name = String.format("bookings-%013d-%06d", System.currentTimeMillis(), segments.size());
+        Path prepared = directory.resolve(name + PREPARED_SUFFIX);
+        try {
+            BookingSegment.write(prepared, bookings);
+            try (FileChannel channel = FileChannel.open(prepared, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return prepared;
+    }
+
+    public synchronized void publish(Path prepared) {
+        String name = prepared.getFileName().toString();
+        Path target = prepared.resolveSibling(name.substring(0, name.length() - PREPARED_SUFFIX.length()) +
+                SEGMENT_SUFFIX);
+        try {
+            Files.move(prepared, target, StandardCopyOption.ATOMIC_MOVE);
+            BookingSegment segment = BookingSegment.open(target);
+            segments.add(segment);
+            log.info("Archived {} bookings to {}", segment.size(), target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void discard(Path prepared) {
+        try {
+            Files.deleteIfExists(prepared);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Path> findPrepared() {
+        if (directory == null) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(PREPARED_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<ArchivedBooking> readPrepared(Path prepared) {
+        try {
+            return BookingSegment.open(prepared).read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<ArchivedBooking> findByBookerId(Long bookerId, int limit) {
+        return newest(findAll(segment -> segment.mayContainBooker(bookerId),
+                booking -> booking.getBookerId().equals(bookerId)), limit);
+    }
+
+    public List<ArchivedBooking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, int limit) {
+        return newest(findAll(segment -> segment.mayContainBooker(bookerId),
+                booking -> booking.getBookerId().equals(bookerId) && booking.getStatus() == status), limit);
+    }
+
+    public List<ArchivedBooking> findByItemIdIn(Collection<Long> itemIds, int limit) {
+        return newest(findAll(segment -> segment.mayContainAnyItem(itemIds),
+                booking -> itemIds.contains(booking.getItemId())), limit);
+    }
+
+    public List<ArchivedBooking> findByItemIdInAndStatus(Collection<Long> itemIds, BookingStatus status, int limit) {
+        return newest(findAll(segment -> segment.mayContainAnyItem(itemIds),
+                booking -> itemIds.contains(booking.getItemId()) && booking.getStatus() == status), limit);
+    }
+
+    public Optional<ArchivedBooking> findById(Long id, Long bookerId, Collection<Long> itemIds) {
+        return findAll(segment -> segment.mayContainBooker(bookerId) || segment.mayContainAnyItem(itemIds),
+                booking -> booking.getId().equals(id) &&
+                        (booking.getBookerId().equals(bookerId) || itemIds.contains(booking.getItemId())))
+                .stream()
+                .findFirst();
+    }
+
+    public boolean existsApproved(Long itemId, Long bookerId, LocalDateTime endBefore) {
+        return !findAll(segment -> segment.mayContainBooker(bookerId) && segment.mayContainAnyItem(List.of(itemId)),
+                booking -> booking.getItemId().equals(itemId) && booking.getBookerId().equals(bookerId) &&
+                        booking.getStatus() == BookingStatus.APPROVED && booking.getEnd().isBefore(endBefore))
+                .isEmpty();
+    }
+
+    private List<ArchivedBooking> findAll(Predicate<BookingSegment> segmentFilter, Predicate<ArchivedBooking> filter) {
+        Map<Long, ArchivedBooking> found = new LinkedHashMap<>();
+        for (BookingSegment segment : segments) {
+            if (!segmentFilter.test(segment)) {
+                continue;
+            }
+            read(segment).stream()
+                    .filter(filter)
+                    .forEach(booking -> found.putIfAbsent(booking.getId(), booking));
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    private List<ArchivedBooking> read(BookingSegment segment) {
+        synchronized (decoded) {
+            List<ArchivedBooking> cached = decoded.get(segment);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<ArchivedBooking> rows;
+        try {
+            rows = Collections.unmodifiableList(segment.read());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (decoded) {
+            decoded.put(segment, rows);
+        }
+        return rows;
+    }
+
+    private List<ArchivedBooking> newest(List<ArchivedBooking> bookings, int limit) {
+        return bookings.stream()
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(file -> file.toString().endsWith(SEGMENT_SUFFIX)).sorted()
+                        .collect(Collectors.toList())) {
+                    segments.add(BookingSegment.open(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Loaded {} booking archive segments from {}", segments.size(), directory);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.counter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.transition.BookingTransition;
+import ru.practicum.shareit.booking.transition.BookingTransitionScheduler;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingCounterService {
+    private final BookingRepository bookingRepository;
+    private final BookingCounters bookingCounters;
+    private final BookingTransitionScheduler bookingTransitionScheduler;
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.bookings.counters.rebuild-ms:3600000}",
+            initialDelayString = "${shareit.bookings.counters.rebuild-ms:3600000}")
+    public void rebuild() {
+        bookingCounters.rebuild(() -> bookingRepository.findAllShortWithArchive().stream()
+                .map(BookingShortView::getShort)
+                .collect(Collectors.toList()), bookingTransitionScheduler::watermark);
+        log.info("Booking counters rebuilt");
+    }
+
+    @EventListener
+    public void onTransition(BookingTransition transition) {
+        if (transition.isRegistration()) {
+            bookingCounters.add(transition.getBooking(), transition.getTo());
+        } else {
+            bookingCounters.move(transition.getBooking(), transition.getFrom(), transition.getTo());
+        }
+    }
+
+    public void onStatusChanged(BookingShort booking, BookingStatus from) {
+        TransactionUtils.afterCommit(() -> bookingCounters.changeStatus(booking, from, booking.getStatus()));
+    }
+
+    public void onDeleted(List<BookingShort> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            bookingTransitionScheduler.cancel(bookings);
+            bookings.forEach(bookingCounters::remove);
+        });
+    }
+
+    public Map<BookingState, Long> getByBookerId(Long bookerId) {
+        return bookingCounters.getByBookerId(bookerId);
+    }
+
+    public Map<BookingState, Long> getByOwnerId(Long ownerId) {
+        return bookingCounters.getByOwnerId(ownerId);
+    }
+}
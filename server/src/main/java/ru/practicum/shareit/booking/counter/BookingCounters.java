@@ -0,0 +1,182 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.transition.BookingTransition;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+public class BookingCounters {
+    private static final int STATES = BookingState.values().length;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final BookingState[] TIME_STATES = BookingState.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Counters counters = new Counters();
+    private Queue<Consumer<Counters>> journal;
+
+    public synchronized void rebuild(Supplier<List<BookingShort>> bookings, Supplier<LocalDateTime> watermark) {
+        setJournal(new ConcurrentLinkedQueue<>());
+        try {
+            LocalDateTime now = watermark.get();
+            Counters rebuilt = new Counters();
+            bookings.get().forEach(booking -> rebuilt.add(booking, BookingTransition.stateAt(booking, now)));
+
+            lock.writeLock().lock();
+            try {
+                journal.forEach(delta -> delta.accept(rebuilt));
+                counters = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            setJournal(null);
+        }
+    }
+
+    public void add(BookingShort booking, BookingState timeState) {
+        apply(counters -> counters.add(booking, timeState));
+    }
+
+    public void changeStatus(BookingShort booking, BookingStatus from, BookingStatus to) {
+        apply(counters -> counters.changeStatus(booking, from, to));
+    }
+
+    public void move(BookingShort booking, BookingState from, BookingState to) {
+        apply(counters -> counters.move(booking, from, to));
+    }
+
+    public void remove(BookingShort booking) {
+        apply(counters -> counters.remove(booking));
+    }
+
+    public Map<BookingState, Long> getByBookerId(Long bookerId) {
+        return toMap(counters.bookers.get(bookerId));
+    }
+
+    public Map<BookingState, Long> getByOwnerId(Long ownerId) {
+        return toMap(counters.owners.get(ownerId));
+    }
+
+    private void apply(Consumer<Counters> delta) {
+        lock.readLock().lock();
+        try {
+            delta.accept(counters);
+            if (journal != null) {
+                journal.add(delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setJournal(Queue<Consumer<Counters>> journal) {
+        lock.writeLock().lock();
+        try {
+            this.journal = journal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static BookingState statusState(BookingStatus status) {
+        if (status == BookingStatus.WAITING) {
+            return BookingState.WAITING;
+        }
+        if (status == BookingStatus.REJECTED) {
+            return BookingState.REJECTED;
+        }
+        return null;
+    }
+
+    private static Map<BookingState, Long> toMap(AtomicLongArray counters) {
+        Map<BookingState, Long> result = new EnumMap<>(BookingState.class);
+        for (BookingState state : BookingState.values()) {
+            result.put(state, counters == null ? 0L : counters.get(state.ordinal()));
+        }
+        return result;
+    }
+
+    private static class Counters {
+        private final Map<Long, Integer> bookings = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLongArray> bookers = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLongArray> owners = new ConcurrentHashMap<>();
+
+        void add(BookingShort booking, BookingState timeState) {
+            bookings.computeIfAbsent(booking.getId(), id -> {
+                change(booking, BookingState.ALL, 1);
+                change(booking, timeState, 1);
+                change(booking, statusState(booking.getStatus()), 1);
+                return pack(booking.getStatus(), timeState);
+            });
+        }
+
+        void changeStatus(BookingShort booking, BookingStatus from, BookingStatus to) {
+            bookings.computeIfPresent(booking.getId(), (id, packed) -> {
+                if (status(packed) != from) {
+                    return packed;
+                }
+                change(booking, statusState(from), -1);
+                change(booking, statusState(to), 1);
+                return pack(to, timeState(packed));
+            });
+        }
+
+        void move(BookingShort booking, BookingState from, BookingState to) {
+            bookings.computeIfPresent(booking.getId(), (id, packed) -> {
+                if (timeState(packed) != from) {
+                    return packed;
+                }
+                change(booking, from, -1);
+                change(booking, to, 1);
+                return pack(status(packed), to);
+            });
+        }
+
+        void remove(BookingShort booking) {
+            bookings.computeIfPresent(booking.getId(), (id, packed) -> {
+                change(booking, BookingState.ALL, -1);
+                change(booking, timeState(packed), -1);
+                change(booking, statusState(status(packed)), -1);
+                return null;
+            });
+        }
+
+        private void change(BookingShort booking, BookingState state, long delta) {
+            if (state == null) {
+                return;
+            }
+            bookers.computeIfAbsent(booking.getBookerId(), id -> new AtomicLongArray(STATES))
+                    .addAndGet(state.ordinal(), delta);
+            owners.computeIfAbsent(booking.getOwnerId(), id -> new AtomicLongArray(STATES))
+                    .addAndGet(state.ordinal(), delta);
+        }
+
+        private static Integer pack(BookingStatus status, BookingState timeState) {
+            return status.ordinal() * STATES + timeState.ordinal();
+        }
+
+        private static BookingStatus status(Integer packed) {
+            return STATUSES[packed / STATES];
+        }
+
+        private static BookingState timeState(Integer packed) {
+            return TIME_STATES[packed % STATES];
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalResult {
+    private Long bookingId;
+    private Outcome outcome;
+    private BookingStatus status;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        NOT_OWNER,
+        NOT_WAITING,
+        CONFLICT
+    }
+}
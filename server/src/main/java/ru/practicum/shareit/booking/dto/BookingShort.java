@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class BookingShort {
+    private Long id;
+    private Long bookerId;
+    private Long ownerId;
+    private Long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+}
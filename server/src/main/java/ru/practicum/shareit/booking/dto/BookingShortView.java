@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public interface BookingShortView {
+    Long getId();
+
+    Long getBookerId();
+
+    Long getOwnerId();
+
+    Long getItemId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    BookingStatus getStatus();
+
+    default BookingShort getShort() {
+        return new BookingShort(getId(), getBookerId(), getOwnerId(), getItemId(), getStartDate(), getEndDate(),
+                getStatus());
+    }
+}
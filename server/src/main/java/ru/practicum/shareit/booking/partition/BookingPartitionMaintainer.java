@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+public class BookingPartitionMaintainer {
+    private static final String PARTITION_PREFIX = "bookings_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int aheadMonths;
+    private final int archiveAfterMonths;
+
+    public BookingPartitionMaintainer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      @Value("${shareit.bookings.partitions.ahead-months:3}") int aheadMonths,
+                                      @Value("${shareit.bookings.partitions.archive-after-months:12}")
+                                      int archiveAfterMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.aheadMonths = aheadMonths;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.bookings.partitions.maintenance-ms:86400000}",
+            initialDelayString = "${shareit.bookings.partitions.maintenance-ms:86400000}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (YearMonth month : defaultPartitionMonths()) {
+            createPartition(month);
+        }
+        for (int i = 0; i <= aheadMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        archivePartitionsBefore(current.minusMonths(archiveAfterMonths));
+    }
+
+    private List<YearMonth> defaultPartitionMonths() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT date_trunc('month', start_date) FROM bookings_default " +
+                        "ORDER BY 1", Timestamp.class)
+                .stream()
+                .map(month -> YearMonth.from(month.toLocalDateTime()))
+                .collect(Collectors.toList());
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        int moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE bookings INCLUDING DEFAULTS)");
+            int rows = jdbcTemplate.update("WITH moved AS (DELETE FROM bookings_default " +
+                    "WHERE start_date >= ? AND start_date < ? RETURNING *) " +
+                    "INSERT INTO " + name + " SELECT * FROM moved", lowerBound(month), upperBound(month));
+            jdbcTemplate.execute("ALTER TABLE bookings ATTACH PARTITION " + name + " " + bounds(month));
+            return rows;
+        });
+        log.info("Created booking partition {}, moved {} bookings from the default partition", name, moved);
+    }
+
+    private void archivePartitionsBefore(YearMonth threshold) {
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'bookings'::regclass AND c.relname LIKE 'bookings\\_p%' " +
+                "ORDER BY c.relname", String.class);
+
+        for (String name : partitions) {
+            YearMonth month = YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.isBefore(threshold)) {
+                continue;
+            }
+
+            Boolean active = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + name +
+                    " WHERE end_date >= ?)", Boolean.class, LocalDateTime.now());
+            if (Boolean.TRUE.equals(active)) {
+                log.warn("Booking partition {} still has unfinished bookings and is kept", name);
+                continue;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION " + name);
+                jdbcTemplate.execute("ALTER TABLE bookings_archive ATTACH PARTITION " + name + " " + bounds(month));
+            });
+            log.info("Archived booking partition {}", name);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FOR VALUES FROM ('" + lowerBound(month) + "') TO ('" + upperBound(month) + "')";
+    }
+
+    private static LocalDateTime lowerBound(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    private static LocalDateTime upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.transition;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingTransition {
+    private final BookingShort booking;
+    private final BookingState from;
+    private final BookingState to;
+    private final LocalDateTime instant;
+
+    public boolean isRegistration() {
+        return from == null;
+    }
+
+    public static BookingState stateAt(BookingShort booking, LocalDateTime now) {
+        if (!booking.getEnd().isAfter(now)) {
+            return BookingState.PAST;
+        }
+        if (booking.getStart().isAfter(now)) {
+            return BookingState.FUTURE;
+        }
+        return BookingState.CURRENT;
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.transition;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingTransitionScheduler {
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${shareit.bookings.transitions.horizon-ms:86400000}")
+    private long horizonMs;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::getInstant));
+    private final Set<Long> scheduledKeys = new HashSet<>();
+
+    private LocalDateTime firedUntil;
+    private LocalDateTime loadedUntil;
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        synchronized (this) {
+            firedUntil = LocalDateTime.now();
+            loadedUntil = firedUntil;
+        }
+        refill();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.transitions.tick-ms:1000}")
+    public void tick() {
+        tick(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.transitions.refill-ms:3600000}",
+            initialDelayString = "${shareit.bookings.transitions.refill-ms:3600000}")
+    public void refill() {
+        LocalDateTime from;
+        LocalDateTime to;
+        synchronized (this) {
+            if (loadedUntil == null) {
+                return;
+            }
+            from = loadedUntil;
+            to = LocalDateTime.now().plus(horizonMs, ChronoUnit.MILLIS);
+            loadedUntil = to;
+        }
+
+        List<BookingShort> started = bookingRepository.findAllShortByStartBetween(from, to);
+        List<BookingShort> ended = bookingRepository.findAllShortByEndBetween(from, to);
+
+        synchronized (this) {
+            started.forEach(booking -> schedule(booking, booking.getStart(), BookingState.FUTURE, BookingState.CURRENT));
+            ended.forEach(booking -> schedule(booking, booking.getEnd(), BookingState.CURRENT, BookingState.PAST));
+            log.debug("Loaded booking transitions until {}, queue size {}", to, queue.size());
+        }
+    }
+
+    public void onCreated(BookingShort booking) {
+        TransactionUtils.afterCommit(() -> register(booking));
+    }
+
+    public synchronized LocalDateTime watermark() {
+        return firedUntil != null ? firedUntil : LocalDateTime.now();
+    }
+
+    public synchronized void cancel(Collection<BookingShort> bookings) {
+        Set<Long> ids = bookings.stream().map(BookingShort::getId).collect(Collectors.toSet());
+        queue.removeIf(entry -> {
+            if (!ids.contains(entry.getBooking().getId())) {
+                return false;
+            }
+            scheduledKeys.remove(entry.getKey());
+            return true;
+        });
+    }
+
+    synchronized void register(BookingShort booking) {
+        LocalDateTime watermark = firedUntil != null ? firedUntil : LocalDateTime.now();
+        BookingState state = BookingTransition.stateAt(booking, watermark);
+        eventPublisher.publishEvent(new BookingTransition(booking, null, state, watermark));
+
+        if (loadedUntil == null) {
+            return;
+        }
+        if (!booking.getStart().isAfter(loadedUntil)) {
+            schedule(booking, booking.getStart(), BookingState.FUTURE, BookingState.CURRENT);
+        }
+        if (!booking.getEnd().isAfter(loadedUntil)) {
+            schedule(booking, booking.getEnd(), BookingState.CURRENT, BookingState.PAST);
+        }
+    }
+
+    synchronized void tick(LocalDateTime now) {
+        if (firedUntil == null) {
+            return;
+        }
+        while (!queue.isEmpty() && !queue.peek().getInstant().isAfter(now)) {
+            Entry entry = queue.poll();
+            scheduledKeys.remove(entry.getKey());
+            eventPublisher.publishEvent(new BookingTransition(entry.getBooking(), entry.getFrom(), entry.getTo(),
+                    entry.getInstant()));
+        }
+        firedUntil = now;
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    private void schedule(BookingShort booking, LocalDateTime instant, BookingState from, BookingState to) {
+        if (!instant.isAfter(firedUntil)) {
+            return;
+        }
+        long key = booking.getId() * 2 + (to == BookingState.PAST ? 1 : 0);
+        if (scheduledKeys.add(key)) {
+            queue.add(new Entry(key, instant, booking, from, to));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Entry {
+        private final long key;
+        private final LocalDateTime instant;
+        private final BookingShort booking;
+        private final BookingState from;
+        private final BookingState to;
+    }
+}
@@ -6,6 +6,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.FORBIDDEN)
 public class AccessException extends RuntimeException {
     public AccessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
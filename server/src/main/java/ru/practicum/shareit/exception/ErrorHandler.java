@@ -10,8 +10,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -24,85 +22,56 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
             MethodArgumentNotValidException ex,
             HttpHeaders headers, HttpStatus status, WebRequest request) {
 
-        Map<String, Object> response = new LinkedHashMap<>();
-
-        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        response.put("status", HttpStatus.BAD_REQUEST.name());
-
         Map<String, Object> errors = new LinkedHashMap<>();
         ex.getBindingResult()
                 .getFieldErrors()
                 .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
-        response.put("errors", errors);
 
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(response);
+                .body(ErrorResponse.errors(HttpStatus.BAD_REQUEST, errors));
     }
 
     @ExceptionHandler(value = NoValidArgumentException.class)
-    public ResponseEntity<Object> handleNoValidArgumentException(final NoValidArgumentException ex) {
-        Map<String, Object> response = new LinkedHashMap<>();
-
-        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        response.put("status", HttpStatus.BAD_REQUEST.name());
-        response.put("message", ex.getMessage());
-
+    public ResponseEntity<ErrorResponse> handleNoValidArgumentException(final NoValidArgumentException ex) {
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(response);
+                .body(ErrorResponse.message(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
     @ExceptionHandler(value = NoFoundObjectException.class)
-    public ResponseEntity<Object> handleNoFoundObjectException(final NoFoundObjectException ex) {
-        Map<String, Object> response = new LinkedHashMap<>();
-
-        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        response.put("status", HttpStatus.NOT_FOUND.name());
-        response.put("message", ex.getMessage());
-
+    public ResponseEntity<ErrorResponse> handleNoFoundObjectException(final NoFoundObjectException ex) {
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .body(response);
+                .body(ErrorResponse.message(HttpStatus.NOT_FOUND, ex.getMessage()));
     }
 
     @ExceptionHandler(value = AccessException.class)
-    public ResponseEntity<Object> handleAccessException(final AccessException ex) {
-        Map<String, Object> response = new LinkedHashMap<>();
-
-        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        response.put("status", HttpStatus.FORBIDDEN.name());
-        response.put("message", ex.getMessage());
-
+    public ResponseEntity<ErrorResponse> handleAccessException(final AccessException ex) {
         return ResponseEntity
                 .status(HttpStatus.FORBIDDEN)
-                .body(response);
+                .body(ErrorResponse.message(HttpStatus.FORBIDDEN, ex.getMessage()));
     }
 
-    @ExceptionHandler(value = {NoCorrectRequestException.class})
-    public ResponseEntity<Object> handleNoCorrectRequestException(final RuntimeException ex) {
-        Map<String, Object> response = new LinkedHashMap<>();
-
-        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        response.put("status", HttpStatus.BAD_REQUEST.name());
-        response.put("error", ex.getMessage());
+    @ExceptionHandler(value = ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(final ConflictException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.message(HttpStatus.CONFLICT, ex.getMessage()));
+    }
 
+    @ExceptionHandler(value = {NoCorrectRequestException.class})
+    public ResponseEntity<ErrorResponse> handleNoCorrectRequestException(final RuntimeException ex) {
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(response);
+                .body(ErrorResponse.error(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
     @ExceptionHandler(value = Exception.class)
-    public ResponseEntity<Object> handleException(final Exception ex) {
-        Map<String, Object> response = new LinkedHashMap<>();
-
-        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.name());
-        response.put("message", "Непредвиденная ошибка: " + ex.getMessage());
-
+    public ResponseEntity<ErrorResponse> handleException(final Exception ex) {
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(response);
+                .body(ErrorResponse.message(HttpStatus.INTERNAL_SERVER_ERROR, "Непредвиденная ошибка: " + ex.getMessage()));
     }
 
 }
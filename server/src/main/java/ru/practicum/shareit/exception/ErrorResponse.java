@@ -0,0 +1,57 @@
+package ru.practicum.shareit.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ErrorResponse {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static volatile Timestamp lastTimestamp = new Timestamp(null, null);
+
+    private final String timestamp;
+    private final String status;
+    private final String message;
+    private final String error;
+    private final Map<String, Object> errors;
+
+    public static ErrorResponse message(HttpStatus status, String message) {
+        return new ErrorResponse(timestamp(), status.name(), message, null, null);
+    }
+
+    public static ErrorResponse error(HttpStatus status, String error) {
+        return new ErrorResponse(timestamp(), status.name(), null, error, null);
+    }
+
+    public static ErrorResponse errors(HttpStatus status, Map<String, Object> errors) {
+        return new ErrorResponse(timestamp(), status.name(), null, null, Collections.unmodifiableMap(errors));
+    }
+
+    private static String timestamp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Timestamp last = lastTimestamp;
+        if (now.equals(last.second)) {
+            return last.formatted;
+        }
+        Timestamp current = new Timestamp(now, now.format(FORMATTER));
+        lastTimestamp = current;
+        return current.formatted;
+    }
+
+    @AllArgsConstructor
+    private static final class Timestamp {
+        private final LocalDateTime second;
+        private final String formatted;
+    }
+}
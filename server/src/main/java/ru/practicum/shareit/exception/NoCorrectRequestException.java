@@ -6,6 +6,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class NoCorrectRequestException extends RuntimeException {
     public NoCorrectRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
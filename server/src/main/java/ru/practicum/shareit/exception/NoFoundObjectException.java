@@ -7,6 +7,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class NoFoundObjectException extends RuntimeException {
 
     public NoFoundObjectException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
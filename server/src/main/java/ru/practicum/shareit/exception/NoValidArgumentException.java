@@ -6,6 +6,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class NoValidArgumentException extends RuntimeException {
     public NoValidArgumentException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -25,6 +25,10 @@ public class Item {
     @Column(name = "is_available")
     private Boolean available;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @ManyToOne
     @JoinColumn(name = "owner_id", referencedColumnName = "id")
     private User owner;
@@ -2,12 +2,17 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.comment.CommentRequest;
 import ru.practicum.shareit.item.comment.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemRequest;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.search.ItemSuggestion;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,13 +20,21 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int DEFAULT_AVAILABILITY_DAYS = 30;
     private final ItemService itemService;
 
     @GetMapping
     public List<ItemResponse> getAllItemsByUserId(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                                   @RequestParam(defaultValue = "0") int from,
-                                                  @RequestParam(defaultValue = "20") int size) {
-        return itemService.getAllItemsByUserId(userId, PageRequest.of(from, size));
+                                                  @RequestParam(defaultValue = "20") int size,
+                                                  @RequestParam(defaultValue = "false") boolean comments) {
+        return itemService.getAllItemsByUserId(userId, PageRequest.of(from, size), comments);
+    }
+
+    @GetMapping(params = "ids")
+    public List<ItemResponse> getItemsByIds(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                            @RequestParam(name = "ids") List<Long> ids) {
+        return itemService.getItemsByIds(ids, userId);
     }
 
     @PostMapping
@@ -44,8 +57,35 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemResponse> searchByText(@RequestParam(name = "text") String text) {
-        return itemService.searchItemByText(text);
+    public List<ItemResponse> searchByText(@RequestParam(name = "text", required = false) String text,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime availableFrom,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime availableTo,
+                                           @RequestParam(required = false) Double lat,
+                                           @RequestParam(required = false) Double lon,
+                                           @RequestParam(required = false) Double radiusKm,
+                                           @RequestParam(defaultValue = "0") int from,
+                                           @RequestParam(defaultValue = "10") int size) {
+        if (lat != null || lon != null || radiusKm != null) {
+            if (lat == null || lon == null || radiusKm == null) {
+                throw new NoValidArgumentException("The request parameters lat, lon and radiusKm must be set together");
+            }
+            return itemService.searchItemsNearby(text, lat, lon, radiusKm, from, size);
+        }
+
+        if (availableFrom == null && availableTo == null) {
+            return itemService.searchItemByText(text);
+        }
+        return itemService.searchAvailableItemsByText(text, availableFrom, availableTo, from, size);
+    }
+
+    @GetMapping("/search/suggest")
+    public List<ItemSuggestion> suggest(@RequestParam(name = "prefix") String prefix,
+                                        @RequestParam(defaultValue = "10") int size) {
+        return itemService.suggestItems(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -53,4 +93,21 @@ public class ItemController {
                                          @RequestBody CommentRequest request) {
         return itemService.createComment(request, userId, itemId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentResponse> getComments(@PathVariable Long itemId,
+                                             @RequestParam(required = false) Long before,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return itemService.getCommentsByItemId(itemId, before, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailability getAvailability(@PathVariable Long itemId,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return itemService.getAvailability(itemId, start, to != null ? to : start.plusDays(DEFAULT_AVAILABILITY_DAYS));
+    }
 }
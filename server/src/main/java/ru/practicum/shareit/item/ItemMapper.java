@@ -15,6 +15,8 @@ public class ItemMapper {
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
+                .latitude(item.getLatitude())
+                .longitude(item.getLongitude())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : 0)
                 .build();
     }
@@ -34,6 +36,8 @@ public class ItemMapper {
                 .name(itemDto.getName())
                 .description(itemDto.getDescription())
                 .available(itemDto.getAvailable())
+                .latitude(itemDto.getLatitude())
+                .longitude(itemDto.getLongitude())
                 .build();
     }
 
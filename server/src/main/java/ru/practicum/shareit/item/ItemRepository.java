@@ -5,21 +5,45 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.geo.ItemLocation;
+import ru.practicum.shareit.item.search.ItemName;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     @Query(value = "select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "OR upper(i.description) like upper(concat('%', ?1, '%')) AND i.available=true")
+            "where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', ?1, '%')) " +
+            "or lower(i.description) like lower(concat('%', ?1, '%')))")
     List<Item> findByText(String text);
 
+    @Query(value = "select i from Item i " +
+            "where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', ?1, '%')) " +
+            "or lower(i.description) like lower(concat('%', ?1, '%'))) " +
+            "and not exists (select b.id from Booking b " +
+            "where b.item = i and b.status = ru.practicum.shareit.booking.BookingStatus.APPROVED " +
+            "and b.start < ?3 and b.end > ?2)")
+    List<Item> findAvailableByText(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    List<ItemName> findAllByAvailableIsTrue();
+
+    List<ItemLocation> findAllByAvailableIsTrueAndLatitudeIsNotNullAndLongitudeIsNotNull();
+
     Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
-    List<Item> findAllByRequestIdIn(Set<Long> ids);
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
 
-    Item findByRequestId(Long requestId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.owner.id, i.name, i.description, " +
+            "i.available, i.request.id) " +
+            "FROM Item i " +
+            "WHERE i.request.id IN ?1 " +
+            "ORDER BY i.request.id, i.id")
+    List<ItemDto> findAllDtoByRequestIdIn(Collection<Long> requestIds);
 }
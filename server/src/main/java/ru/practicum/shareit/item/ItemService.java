@@ -1,28 +1,45 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.comment.CommentRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.comment.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemRequest;
+import ru.practicum.shareit.item.search.ItemSuggestion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 public interface ItemService {
     ItemResponse createItem(ItemRequest itemRequest, Long userId);
 
     ItemResponse getItemById(Long id, Long userId);
 
+    List<ItemResponse> getItemsByIds(List<Long> ids, Long userId);
+
     ItemResponse updateItemById(ItemRequest itemRequest, Long id, Long userId);
 
-    List<ItemResponse> getAllItemsByUserId(Long userId, Pageable pageable);
+    List<ItemResponse> getAllItemsByUserId(Long userId, Pageable pageable, boolean withComments);
 
     List<ItemResponse> searchItemByText(String text);
 
+    List<ItemResponse> searchAvailableItemsByText(String text, LocalDateTime start, LocalDateTime end,
+                                                  int from, int size);
+
+    List<ItemResponse> searchItemsNearby(String text, double latitude, double longitude, double radiusKm,
+                                         int from, int size);
+
+    List<ItemSuggestion> suggestItems(String prefix, int size);
+
     CommentResponse createComment(CommentRequest request, Long userId, Long itemId);
 
-    List<Item> getAllByRequestIds(Set<Long> collect);
+    List<CommentResponse> getCommentsByItemId(Long itemId, Long before, int size);
+
+    Map<Long, List<ItemDto>> getItemsByRequestIds(Collection<Long> requestIds);
 
-    Item getItemByRequestId(Long requestId);
+    ItemAvailability getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
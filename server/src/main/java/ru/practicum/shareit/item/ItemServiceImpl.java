@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -11,33 +13,60 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+import ru.practicum.shareit.item.availability.AvailabilityCache;
+import ru.practicum.shareit.item.availability.BusyIntervals;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.comment.*;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.item.dto.ItemRequest;
+import ru.practicum.shareit.item.geo.ItemGeoIndex;
+import ru.practicum.shareit.item.search.ItemNameIndex;
+import ru.practicum.shareit.item.search.ItemSuggestion;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.SingleFlight;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final double MAX_RADIUS_KM = 100;
+    private static final int MAX_IDS = 100;
+
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final BookingService bookingService;
     private final CommentService commentService;
     private final ItemRequestRepository itemRequestRepository;
+    private final Outbox outbox;
+    private final AvailabilityCache availabilityCache;
+    private final ItemNameIndex itemNameIndex;
+    private final ItemGeoIndex itemGeoIndex;
+
+    private final SingleFlight<Long, LoadedItem> itemLoads = new SingleFlight<>();
+    private final SingleFlight<List<Object>, ItemResponse> itemViews = new SingleFlight<>();
 
     @Override
     @Transactional
     public ItemResponse createItem(ItemRequest request, Long userId) {
+        checkCoordinates(request);
         User user = userService.findUserById(userId);
 
         Item item = ItemMapper.dtoToObject(request);
@@ -48,26 +77,68 @@ public class ItemServiceImpl implements ItemService {
                     .findById(request.getRequestId()).orElse(null));
         }
 
-        Item savedItem = itemRepository.save(item);
-        return ItemMapper.objectToItemResponseDto(savedItem);
+        ItemResponse created = ItemMapper.objectToItemResponseDto(itemRepository.save(item));
+        outbox.record(AggregateType.ITEM, created.getId(), EventType.CREATED, created);
+        itemNameIndex.index(created.getId(), created.getName(), Boolean.TRUE.equals(created.getAvailable()));
+        indexLocation(created);
+        return created;
     }
 
     @Override
     public ItemResponse getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NoFoundObjectException(String.format("Item with id='%s' not found", itemId)));
+        LoadedItem item = itemLoads.execute(itemId, () -> itemRepository.findById(itemId)
+                .map(LoadedItem::of)
+                .orElseThrow(() -> new NoFoundObjectException(String.format("Item with id='%s' not found", itemId))));
+
+        boolean owner = Objects.equals(userId, item.ownerId);
+
+        return itemViews.execute(List.of(itemId, owner), () -> {
+            ItemResponse itemResponse = item.toResponse();
 
-        ItemResponse itemResponse = ItemMapper.objectToItemResponseDto(item);
+            if (owner) {
+                List<Booking> bookingList = bookingService.getAllByItemId(itemId);
+                setLastAndNextBookings(bookingList, itemResponse);
+            }
 
-        if (Objects.equals(userId, item.getOwner().getId())) {
-            List<Booking> bookingList = bookingService.getAllByItemId(itemId);
-            setLastAndNextBookings(bookingList, itemResponse);
+            List<CommentResponse> comments = commentService.getLatestCommentsByItemId(itemId);
+            itemResponse.setComments(comments);
+
+            return itemResponse;
+        });
+    }
+
+    @Override
+    public List<ItemResponse> getItemsByIds(List<Long> ids, Long userId) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new NoValidArgumentException("Number of ids must be between 1 and " + MAX_IDS);
         }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
 
-        List<CommentResponse> comments = commentService.getAllCommentsByItemId(itemId);
-        itemResponse.setComments(comments);
+        Map<Long, Item> items = itemRepository.findAllById(uniqueIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
 
-        return itemResponse;
+        List<Long> ownItemIds = items.values()
+                .stream()
+                .filter(item -> Objects.equals(userId, item.getOwner().getId()))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        List<Booking> bookingList = ownItemIds.isEmpty() ? List.of() : bookingService.getAllByItemIdIn(ownItemIds);
+        Map<Long, List<CommentResponse>> comments = commentService.getLatestCommentsByItemIdIn(items.keySet());
+
+        return uniqueIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(item -> {
+                    ItemResponse itemResponse = ItemMapper.objectToItemResponseDto(item);
+                    if (Objects.equals(userId, item.getOwner().getId())) {
+                        setLastAndNextBookings(bookingList, itemResponse);
+                    }
+                    itemResponse.setComments(comments.getOrDefault(item.getId(), List.of()));
+                    return itemResponse;
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -92,12 +163,21 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(request.getAvailable());
         }
 
-        Item savedItem = itemRepository.save(item);
-        return ItemMapper.objectToItemResponseDto(savedItem);
+        checkCoordinates(request);
+        if (request.getLatitude() != null) {
+            item.setLatitude(request.getLatitude());
+            item.setLongitude(request.getLongitude());
+        }
+
+        ItemResponse updated = ItemMapper.objectToItemResponseDto(itemRepository.save(item));
+        outbox.record(AggregateType.ITEM, itemId, EventType.UPDATED, updated);
+        itemNameIndex.index(itemId, updated.getName(), Boolean.TRUE.equals(updated.getAvailable()));
+        indexLocation(updated);
+        return updated;
     }
 
     @Override
-    public List<ItemResponse> getAllItemsByUserId(Long id, Pageable pageable) {
+    public List<ItemResponse> getAllItemsByUserId(Long id, Pageable pageable, boolean withComments) {
         userService.checkExistUserById(id);
 
         List<ItemResponse> items = itemRepository.findAllByOwnerId(id, pageable).stream()
@@ -115,6 +195,11 @@ public class ItemServiceImpl implements ItemService {
                 .map(itemsDto -> setLastAndNextBookings(bookingList, itemsDto))
                 .collect(Collectors.toList());
 
+        if (withComments) {
+            Map<Long, List<CommentResponse>> comments = commentService.getLatestCommentsByItemIdIn(itemsId);
+            items.forEach(item -> item.setComments(comments.getOrDefault(item.getId(), List.of())));
+        }
+
         return items.stream().sorted(Comparator.comparing(ItemResponse::getId)).collect(Collectors.toList());
     }
 
@@ -126,6 +211,70 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.objectToItemResponseDto(itemRepository.findByText(text));
     }
 
+    @Override
+    public List<ItemResponse> searchAvailableItemsByText(String text, LocalDateTime start, LocalDateTime end,
+                                                         int from, int size) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new NoValidArgumentException("The request parameters availableFrom and availableTo are invalid");
+        }
+
+        if (from < 0 || size <= 0) {
+            throw new NoValidArgumentException("The request parameters from b size are invalid and cannot be negative");
+        }
+
+        if (!StringUtils.hasLength(text)) {
+            return List.of();
+        }
+
+        Pageable pageable = PageRequest.of(from / size, size, Sort.by("id"));
+        return ItemMapper.objectToItemResponseDto(itemRepository.findAvailableByText(text, start, end, pageable));
+    }
+
+    @Override
+    public List<ItemResponse> searchItemsNearby(String text, double latitude, double longitude, double radiusKm,
+                                                int from, int size) {
+        if (!isValidCoordinates(latitude, longitude) || radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new NoValidArgumentException("The request parameters lat, lon and radiusKm are invalid");
+        }
+
+        if (from < 0 || size <= 0) {
+            throw new NoValidArgumentException("The request parameters from b size are invalid and cannot be negative");
+        }
+
+        List<Long> ids = itemGeoIndex.nearest(latitude, longitude, radiusKm, text)
+                .stream()
+                .skip(from)
+                .limit(size)
+                .collect(Collectors.toList());
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::objectToItemResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemSuggestion> suggestItems(String prefix, int size) {
+        if (size <= 0) {
+            throw new NoValidArgumentException("The request parameter size is invalid and must be positive");
+        }
+
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+
+        return itemNameIndex.suggest(prefix, size);
+    }
+
     @Override
     @Transactional
     public CommentResponse createComment(CommentRequest request, Long userId, Long itemId) {
@@ -135,12 +284,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoFoundObjectException(String.format("Item with id='%s' not found", itemId)));
 
-        List<Booking> bookings = bookingService.getAllByItemAndEndBeforeDate(itemId, comment.getCreated())
-                .stream()
-                .filter(booking -> Objects.equals(booking.getBooker().getId(), userId))
-                .collect(Collectors.toList());
-
-        if (bookings.isEmpty()) {
+        if (!bookingService.hasFinishedBooking(itemId, userId, comment.getCreated())) {
             throw new NoCorrectRequestException(String.format("User with id='%s' cannot leave a review of this thing",
                     userId));
         }
@@ -153,13 +297,68 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<Item> getAllByRequestIds(Set<Long> ids) {
-        return itemRepository.findAllByRequestIdIn(ids);
+    public List<CommentResponse> getCommentsByItemId(Long itemId, Long before, int size) {
+        if (size <= 0) {
+            throw new NoValidArgumentException("The request parameter size is invalid and must be positive");
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NoFoundObjectException(String.format("Item with id='%s' not found", itemId));
+        }
+
+        return commentService.getCommentsByItemId(itemId, before, size);
     }
 
     @Override
-    public Item getItemByRequestId(Long requestId) {
-        return itemRepository.findByRequestId(requestId);
+    public Map<Long, List<ItemDto>> getItemsByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return itemRepository.findAllDtoByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+    }
+
+    @Override
+    public ItemAvailability getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new NoValidArgumentException("The request parameter to must be after from");
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NoFoundObjectException(String.format("Item with id='%s' not found", itemId));
+        }
+
+        BusyIntervals busy = availabilityCache.get(itemId,
+                () -> BusyIntervals.merge(bookingService.getBusyPeriodsByItemId(itemId)));
+
+        return ItemAvailability.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .free(busy.freeBetween(from, to))
+                .build();
+    }
+
+    private void checkCoordinates(ItemRequest request) {
+        if (request.getLatitude() == null && request.getLongitude() == null) {
+            return;
+        }
+
+        if (request.getLatitude() == null || request.getLongitude() == null
+                || !isValidCoordinates(request.getLatitude(), request.getLongitude())) {
+            throw new NoValidArgumentException("Item latitude and longitude must be set together and be valid");
+        }
+    }
+
+    private boolean isValidCoordinates(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    private void indexLocation(ItemResponse item) {
+        itemGeoIndex.index(item.getId(), item.getName(), item.getDescription(), item.getLatitude(),
+                item.getLongitude(), Boolean.TRUE.equals(item.getAvailable()));
     }
 
     private ItemResponse setLastAndNextBookings(List<Booking> bookingList, ItemResponse itemResponse) {
@@ -193,4 +392,30 @@ public class ItemServiceImpl implements ItemService {
 
         return itemResponse;
     }
+
+    private static class LoadedItem {
+        private final Long ownerId;
+        private final ItemResponse item;
+
+        private LoadedItem(Long ownerId, ItemResponse item) {
+            this.ownerId = ownerId;
+            this.item = item;
+        }
+
+        private static LoadedItem of(Item item) {
+            return new LoadedItem(item.getOwner().getId(), ItemMapper.objectToItemResponseDto(item));
+        }
+
+        private ItemResponse toResponse() {
+            return ItemResponse.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .latitude(item.getLatitude())
+                    .longitude(item.getLongitude())
+                    .requestId(item.getRequestId())
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Component
+public class AvailabilityCache {
+    private final Map<Long, BusyIntervals> intervals;
+    private long version;
+
+    public AvailabilityCache(@Value("${shareit.items.availability.cache-size:10000}") int cacheSize) {
+        this.intervals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BusyIntervals> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public BusyIntervals get(Long itemId, Supplier<BusyIntervals> loader) {
+        long observed;
+        synchronized (this) {
+            BusyIntervals cached = intervals.get(itemId);
+            if (cached != null) {
+                return cached;
+            }
+            observed = version;
+        }
+
+        BusyIntervals loaded = loader.get();
+
+        synchronized (this) {
+            if (version == observed) {
+                intervals.put(itemId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void evict(Long itemId) {
+        version++;
+        intervals.remove(itemId);
+    }
+}
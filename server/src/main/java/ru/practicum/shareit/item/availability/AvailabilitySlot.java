@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class AvailabilitySlot {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
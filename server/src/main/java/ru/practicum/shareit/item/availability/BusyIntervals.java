@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.availability;
+
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class BusyIntervals {
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+
+    private BusyIntervals(LocalDateTime[] starts, LocalDateTime[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static BusyIntervals merge(List<BookingPeriod> periods) {
+        List<BookingPeriod> sorted = new ArrayList<>(periods);
+        sorted.sort(Comparator.comparing(BookingPeriod::getStart));
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<LocalDateTime> ends = new ArrayList<>();
+        for (BookingPeriod period : sorted) {
+            int last = ends.size() - 1;
+            if (last >= 0 && !period.getStart().isAfter(ends.get(last))) {
+                if (period.getEnd().isAfter(ends.get(last))) {
+                    ends.set(last, period.getEnd());
+                }
+            } else {
+                starts.add(period.getStart());
+                ends.add(period.getEnd());
+            }
+        }
+
+        return new BusyIntervals(starts.toArray(new LocalDateTime[0]), ends.toArray(new LocalDateTime[0]));
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public List<AvailabilitySlot> freeBetween(LocalDateTime from, LocalDateTime to) {
+        List<AvailabilitySlot> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+
+        for (int i = firstEndingAfter(from); i < starts.length && starts[i].isBefore(to); i++) {
+            if (starts[i].isAfter(cursor)) {
+                free.add(new AvailabilitySlot(cursor, starts[i]));
+            }
+            if (ends[i].isAfter(cursor)) {
+                cursor = ends[i];
+            }
+        }
+
+        if (cursor.isBefore(to)) {
+            free.add(new AvailabilitySlot(cursor, to));
+        }
+        return free;
+    }
+
+    private int firstEndingAfter(LocalDateTime date) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid].isAfter(date)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.comment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+public class CommentCache {
+    private final int latestSize;
+    private final Map<Long, List<CommentResponse>> latest;
+    private long version;
+
+    public CommentCache(@Value("${shareit.items.comments.latest-size:10}") int latestSize,
+                        @Value("${shareit.items.comments.cache-size:10000}") int cacheSize) {
+        this.latestSize = latestSize;
+        this.latest = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<CommentResponse>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public int getLatestSize() {
+        return latestSize;
+    }
+
+    public Map<Long, List<CommentResponse>> getLatest(Collection<Long> itemIds,
+                                                      Function<List<Long>, Map<Long, List<CommentResponse>>> loader) {
+        Map<Long, List<CommentResponse>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long observed;
+
+        synchronized (this) {
+            observed = version;
+            for (Long itemId : itemIds) {
+                List<CommentResponse> comments = latest.get(itemId);
+                if (comments != null) {
+                    result.put(itemId, comments);
+                } else {
+                    missing.add(itemId);
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<CommentResponse>> loaded = loader.apply(missing);
+
+        synchronized (this) {
+            for (Long itemId : missing) {
+                List<CommentResponse> comments = List.copyOf(loaded.getOrDefault(itemId, List.of()));
+                result.put(itemId, comments);
+                if (version == observed) {
+                    latest.put(itemId, comments);
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized void add(Long itemId, CommentResponse comment) {
+        version++;
+
+        List<CommentResponse> cached = latest.get(itemId);
+        if (cached == null) {
+            return;
+        }
+
+        List<CommentResponse> comments = new ArrayList<>(Math.min(cached.size() + 1, latestSize));
+        comments.add(comment);
+        cached.stream()
+                .limit(latestSize - 1L)
+                .forEach(comments::add);
+        latest.put(itemId, List.copyOf(comments));
+    }
+}
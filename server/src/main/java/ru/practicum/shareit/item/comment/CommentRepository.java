@@ -1,9 +1,24 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItemId(Long itemId);
+
+    List<Comment> findAllByItemIdOrderByIdDesc(Long itemId, Pageable pageable);
+
+    List<Comment> findAllByItemIdAndIdLessThanOrderByIdDesc(Long itemId, Long before, Pageable pageable);
+
+    @Query(value = "SELECT latest.item_id AS itemId, latest.id AS id, latest.text AS text, " +
+            "u.name AS authorName, latest.created AS created FROM (" +
+            "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.id DESC) AS rn " +
+            "FROM comments c WHERE c.item_id IN (?1)) latest " +
+            "JOIN users u ON u.id = latest.author_id " +
+            "WHERE latest.rn <= ?2 ORDER BY latest.item_id, latest.id DESC", nativeQuery = true)
+    List<ItemComment> findLatestByItemIdIn(Collection<Long> itemIds, long limit);
 }
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.item.comment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CommentService {
     Comment createComment(Comment comment);
 
-    List<CommentResponse> getAllCommentsByItemId(Long id);
+    List<CommentResponse> getLatestCommentsByItemId(Long itemId);
+
+    Map<Long, List<CommentResponse>> getLatestCommentsByItemIdIn(Collection<Long> ids);
+
+    List<CommentResponse> getCommentsByItemId(Long itemId, Long before, int size);
 }
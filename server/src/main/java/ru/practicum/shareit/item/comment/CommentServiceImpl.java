@@ -1,26 +1,63 @@
 package ru.practicum.shareit.item.comment;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.util.TransactionUtils;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
+    private final CommentCache commentCache;
 
     @Override
     @Transactional
     public Comment createComment(Comment comment) {
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+
+        CommentResponse response = CommentMapper.dtoToObject(savedComment);
+        Long itemId = savedComment.getItem().getId();
+        TransactionUtils.afterCommit(() -> commentCache.add(itemId, response));
+
+        return savedComment;
+    }
+
+    @Override
+    public List<CommentResponse> getLatestCommentsByItemId(Long itemId) {
+        return getLatestCommentsByItemIdIn(List.of(itemId)).get(itemId);
+    }
+
+    @Override
+    public Map<Long, List<CommentResponse>> getLatestCommentsByItemIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return commentCache.getLatest(ids, this::loadLatest);
     }
 
     @Override
-    public List<CommentResponse> getAllCommentsByItemId(Long id) {
-        List<Comment> comments = commentRepository.findAllByItemId(id);
+    public List<CommentResponse> getCommentsByItemId(Long itemId, Long before, int size) {
+        PageRequest page = PageRequest.of(0, size);
+
+        List<Comment> comments = before == null
+                ? commentRepository.findAllByItemIdOrderByIdDesc(itemId, page)
+                : commentRepository.findAllByItemIdAndIdLessThanOrderByIdDesc(itemId, before, page);
 
         return CommentMapper.objectsToDto(comments);
     }
+
+    private Map<Long, List<CommentResponse>> loadLatest(List<Long> itemIds) {
+        return commentRepository.findLatestByItemIdIn(itemIds, commentCache.getLatestSize())
+                .stream()
+                .collect(Collectors.groupingBy(ItemComment::getItemId,
+                        Collectors.mapping(ItemComment::getComment, Collectors.toList())));
+    }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.comment;
+
+import java.time.LocalDateTime;
+
+public interface ItemComment {
+    Long getItemId();
+
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    default CommentResponse getComment() {
+        return new CommentResponse(getId(), getText(), getAuthorName(), getCreated());
+    }
+}
@@ -17,6 +17,10 @@ public class ItemRequest {
 
     private Boolean available;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private User owner;
 
     private Long requestId;
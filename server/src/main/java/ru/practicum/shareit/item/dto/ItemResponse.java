@@ -20,6 +20,10 @@ public class ItemResponse {
 
     private Boolean available;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private BookingDto lastBooking;
 
     private BookingDto nextBooking;
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class GeoGrid<T> {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final int lonCells;
+    private final Map<Long, Map<Long, Point<T>>> cells = new HashMap<>();
+    private final Map<Long, Point<T>> points = new HashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public void put(Long id, double latitude, double longitude, T value) {
+        remove(id);
+
+        Point<T> point = new Point<>(id, latitude, longitude, value);
+        points.put(id, point);
+        cells.computeIfAbsent(cellKey(latIndex(latitude), lonIndex(longitude)), key -> new HashMap<>()).put(id, point);
+    }
+
+    public void remove(Long id) {
+        Point<T> point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+
+        long key = cellKey(latIndex(point.latitude), lonIndex(point.longitude));
+        Map<Long, Point<T>> cell = cells.get(key);
+        cell.remove(id);
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public List<Long> nearest(double latitude, double longitude, double radiusKm, Predicate<T> filter) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(latitude));
+        double lonDelta = cos > 0 ? radiusKm / (KM_PER_DEGREE * cos) : 360;
+
+        int fromLat = latIndex(Math.max(-90, latitude - latDelta));
+        int toLat = latIndex(Math.min(90, latitude + latDelta));
+        int fromLon = (int) Math.floor((longitude - lonDelta) / cellDegrees);
+        int toLon = Math.min((int) Math.floor((longitude + lonDelta) / cellDegrees), fromLon + lonCells - 1);
+
+        List<Hit> hits = new ArrayList<>();
+        for (int lat = fromLat; lat <= toLat; lat++) {
+            for (int lon = fromLon; lon <= toLon; lon++) {
+                Map<Long, Point<T>> cell = cells.get(cellKey(lat, Math.floorMod(lon, lonCells)));
+                if (cell == null) {
+                    continue;
+                }
+                for (Point<T> point : cell.values()) {
+                    double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+                    if (distance <= radiusKm && filter.test(point.value)) {
+                        hits.add(new Hit(point.id, distance));
+                    }
+                }
+            }
+        }
+
+        return hits.stream()
+                .sorted(Comparator.comparingDouble((Hit hit) -> hit.distance).thenComparing(hit -> hit.id))
+                .map(hit -> hit.id)
+                .collect(Collectors.toList());
+    }
+
+    public static double distanceKm(double fromLat, double fromLon, double toLat, double toLon) {
+        double dLat = Math.toRadians(toLat - fromLat);
+        double dLon = Math.toRadians(toLon - fromLon);
+        double a = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(Math.toRadians(fromLat))
+                * Math.cos(Math.toRadians(toLat)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor(longitude / cellDegrees), lonCells);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private static class Point<T> {
+        private final Long id;
+        private final double latitude;
+        private final double longitude;
+        private final T value;
+
+        private Point(Long id, double latitude, double longitude, T value) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.value = value;
+        }
+    }
+
+    private static class Hit {
+        private final Long id;
+        private final double distance;
+
+        private Hit(Long id, double distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ItemGeoIndex {
+    private final ItemRepository itemRepository;
+    private final GeoGrid<String> grid;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemGeoIndex(ItemRepository itemRepository,
+                        @Value("${shareit.items.geo.cell-degrees:0.05}") double cellDegrees) {
+        this.itemRepository = itemRepository;
+        this.grid = new GeoGrid<>(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ItemLocation> items = itemRepository.findAllByAvailableIsTrueAndLatitudeIsNotNullAndLongitudeIsNotNull();
+        write(() -> items.forEach(item -> grid.put(item.getId(), item.getLatitude(), item.getLongitude(),
+                searchText(item.getName(), item.getDescription()))));
+        log.info("Indexed {} item locations", items.size());
+    }
+
+    public void index(Long itemId, String name, String description, Double latitude, Double longitude,
+                      boolean available) {
+        TransactionUtils.afterCommit(() -> write(() -> {
+            if (available && latitude != null && longitude != null) {
+                grid.put(itemId, latitude, longitude, searchText(name, description));
+            } else {
+                grid.remove(itemId);
+            }
+        }));
+    }
+
+    public void remove(Collection<Long> itemIds) {
+        TransactionUtils.afterCommit(() -> write(() -> itemIds.forEach(grid::remove)));
+    }
+
+    public List<Long> nearest(double latitude, double longitude, double radiusKm, String text) {
+        String query = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            return grid.nearest(latitude, longitude, radiusKm, value -> value.contains(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String searchText(String name, String description) {
+        return (name + "\n" + description).toLowerCase(Locale.ROOT);
+    }
+}
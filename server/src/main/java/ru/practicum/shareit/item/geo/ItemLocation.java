@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.geo;
+
+public interface ItemLocation {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
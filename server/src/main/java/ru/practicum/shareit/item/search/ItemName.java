@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.search;
+
+public interface ItemName {
+    Long getId();
+
+    String getName();
+}
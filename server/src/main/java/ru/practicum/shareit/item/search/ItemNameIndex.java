@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameIndex {
+    private final ItemRepository itemRepository;
+
+    private final NameTrie trie = new NameTrie();
+    private final Map<Long, String> names = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ItemName> items = itemRepository.findAllByAvailableIsTrue();
+        write(() -> items.forEach(item -> put(item.getId(), item.getName())));
+        log.info("Indexed {} item names", items.size());
+    }
+
+    public void index(Long itemId, String name, boolean available) {
+        TransactionUtils.afterCommit(() -> write(() -> {
+            String previous = names.remove(itemId);
+            if (previous != null) {
+                trie.remove(previous, itemId);
+            }
+            if (available) {
+                put(itemId, name);
+            }
+        }));
+    }
+
+    public void remove(Collection<Long> itemIds) {
+        TransactionUtils.afterCommit(() -> write(() -> itemIds.forEach(itemId -> {
+            String previous = names.remove(itemId);
+            if (previous != null) {
+                trie.remove(previous, itemId);
+            }
+        })));
+    }
+
+    public List<ItemSuggestion> suggest(String prefix, int limit) {
+        int maxEdits = maxEdits(NameTrie.normalize(prefix).length());
+
+        lock.readLock().lock();
+        try {
+            List<ItemSuggestion> result = trie.complete(prefix, limit);
+            if (result.size() == limit || maxEdits == 0) {
+                return result;
+            }
+
+            List<ItemSuggestion> suggestions = new ArrayList<>(result);
+            Set<Long> seen = new HashSet<>();
+            suggestions.forEach(suggestion -> seen.add(suggestion.getId()));
+            for (ItemSuggestion suggestion : trie.completeFuzzy(prefix, maxEdits, limit + result.size())) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                if (seen.add(suggestion.getId())) {
+                    suggestions.add(suggestion);
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long itemId, String name) {
+        names.put(itemId, name);
+        trie.put(name, itemId);
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int maxEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+}
@@ -0,0 +1,215 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class NameTrie {
+    private static final Comparator<Candidate> CANDIDATE_ORDER = Comparator
+            .comparingInt((Candidate candidate) -> candidate.distance)
+            .thenComparing(candidate -> candidate.suggestion.getName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(candidate -> candidate.suggestion.getId());
+
+    private final Node root = new Node();
+    private int size;
+
+    public void put(String name, Long itemId) {
+        String key = normalize(name);
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+
+        if (node.items == null) {
+            node.items = new TreeMap<>();
+        }
+        if (node.items.put(itemId, name) == null) {
+            size++;
+        }
+    }
+
+    public void remove(String name, Long itemId) {
+        if (remove(root, normalize(name), 0, itemId)) {
+            size--;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<ItemSuggestion> complete(String prefix, int limit) {
+        List<ItemSuggestion> result = new ArrayList<>();
+        Node node = find(normalize(prefix));
+        if (node != null) {
+            collect(node, limit, result);
+        }
+        return result;
+    }
+
+    public List<ItemSuggestion> completeFuzzy(String prefix, int maxEdits, int limit) {
+        String key = normalize(prefix);
+        int[] row = new int[key.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+
+        TreeSet<Candidate> candidates = new TreeSet<>(CANDIDATE_ORDER);
+        if (limit > 0) {
+            collectFuzzy(root, key, row, 0, row[key.length()], maxEdits, limit, candidates);
+        }
+
+        return candidates.stream()
+                .map(candidate -> candidate.suggestion)
+                .collect(Collectors.toList());
+    }
+
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private boolean remove(Node node, String key, int depth, Long itemId) {
+        if (depth == key.length()) {
+            if (node.items == null || node.items.remove(itemId) == null) {
+                return false;
+            }
+            if (node.items.isEmpty()) {
+                node.items = null;
+            }
+            return true;
+        }
+
+        Node child = node.child(key.charAt(depth));
+        if (child == null || !remove(child, key, depth + 1, itemId)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.removeChild(key.charAt(depth));
+        }
+        return true;
+    }
+
+    private void collect(Node node, int limit, List<ItemSuggestion> result) {
+        if (node.items != null) {
+            for (var entry : node.items.entrySet()) {
+                if (result.size() == limit) {
+                    return;
+                }
+                result.add(new ItemSuggestion(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        for (int i = 0; i < node.count && result.size() < limit; i++) {
+            collect(node.children[i], limit, result);
+        }
+    }
+
+    private void collectFuzzy(Node node, String key, int[] row, int rowMin, int best, int maxEdits, int limit,
+                              TreeSet<Candidate> result) {
+        boolean prefixReachable = rowMin <= maxEdits;
+        int bound = prefixReachable ? Math.min(rowMin, best) : best;
+        if (bound > maxEdits || result.size() == limit && result.last().distance < bound) {
+            return;
+        }
+
+        if (node.items != null && best <= maxEdits) {
+            for (var entry : node.items.entrySet()) {
+                result.add(new Candidate(best, new ItemSuggestion(entry.getKey(), entry.getValue())));
+                if (result.size() > limit) {
+                    result.pollLast();
+                }
+            }
+        }
+
+        for (int i = 0; i < node.count; i++) {
+            if (!prefixReachable) {
+                collectFuzzy(node.children[i], key, row, rowMin, best, maxEdits, limit, result);
+                continue;
+            }
+
+            char letter = node.keys[i];
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int nextMin = next[0];
+            for (int j = 1; j < row.length; j++) {
+                int replace = row[j - 1] + (key.charAt(j - 1) == letter ? 0 : 1);
+                next[j] = Math.min(replace, Math.min(next[j - 1], row[j]) + 1);
+                nextMin = Math.min(nextMin, next[j]);
+            }
+            collectFuzzy(node.children[i], key, next, nextMin, Math.min(best, next[key.length()]), maxEdits, limit,
+                    result);
+        }
+    }
+
+    private static class Candidate {
+        private final int distance;
+        private final ItemSuggestion suggestion;
+
+        private Candidate(int distance, ItemSuggestion suggestion) {
+            this.distance = distance;
+            this.suggestion = suggestion;
+        }
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int count;
+        private TreeMap<Long, String> items;
+
+        private Node child(char letter) {
+            int index = Arrays.binarySearch(keys, 0, count, letter);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char letter) {
+            int index = Arrays.binarySearch(keys, 0, count, letter);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insert = -index - 1;
+            if (count == keys.length) {
+                int capacity = Math.max(2, count * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insert, keys, insert + 1, count - insert);
+            System.arraycopy(children, insert, children, insert + 1, count - insert);
+
+            Node child = new Node();
+            keys[insert] = letter;
+            children[insert] = child;
+            count++;
+            return child;
+        }
+
+        private void removeChild(char letter) {
+            int index = Arrays.binarySearch(keys, 0, count, letter);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(children, index + 1, children, index, count - index - 1);
+            count--;
+            children[count] = null;
+        }
+
+        private boolean isEmpty() {
+            return items == null && count == 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTiming;
+    private final Map<String, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+        ContentCachingResponseWrapper buffered = serverTiming ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            SqlStatementStats.clear();
+            MDC.remove(SqlStatementListener.MDC_COUNT);
+            MDC.remove(SqlStatementListener.MDC_TIME);
+            record(request, stats);
+            if (buffered != null) {
+                writeServerTiming(buffered, stats);
+            }
+        }
+    }
+
+    private void writeServerTiming(ContentCachingResponseWrapper response, SqlStatementStats stats)
+            throws IOException {
+        if (!response.isCommitted()) {
+            response.addHeader(SERVER_TIMING_HEADER, String.format("db;dur=%d;desc=\"%d statements\"",
+                    stats.getTimeMs(), stats.getCount()));
+        }
+        response.copyBodyToResponse();
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+
+        RequestMeters requestMeters = meters.computeIfAbsent(request.getMethod() + " " + uri,
+                key -> new RequestMeters(meterRegistry, request.getMethod(), uri));
+        requestMeters.statements.record(stats.getCount());
+        requestMeters.time.record(stats.getTimeMs(), TimeUnit.MILLISECONDS);
+
+        log.debug("{} {} executed {} SQL statements in {} ms, {} slow", request.getMethod(), uri,
+                stats.getCount(), stats.getTimeMs(), stats.getSlowCount());
+    }
+
+    private static class RequestMeters {
+        private final DistributionSummary statements;
+        private final Timer time;
+
+        private RequestMeters(MeterRegistry meterRegistry, String method, String uri) {
+            this.statements = DistributionSummary.builder("shareit.http.sql.statements")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+            this.time = Timer.builder("shareit.http.sql.time")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.NoOpQueryExecutionListener;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SqlStatementListener extends NoOpQueryExecutionListener {
+    public static final String MDC_COUNT = "sqlCount";
+    public static final String MDC_TIME = "sqlTimeMs";
+
+    private static final int MAX_LOGGED_SQL = 1000;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowThresholdMs;
+    private volatile Timer statements;
+    private volatile Counter slowStatements;
+
+    public SqlStatementListener(ObjectProvider<MeterRegistry> meterRegistry, long slowThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean slow = elapsedMs >= slowThresholdMs;
+
+        if (statements != null || resolveMeters()) {
+            statements.record(elapsedMs, TimeUnit.MILLISECONDS);
+            if (slow) {
+                slowStatements.increment();
+            }
+        }
+        if (slow) {
+            log.warn("Slow SQL statement took {} ms: {}", elapsedMs, sql(queryInfoList));
+        }
+
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(Math.max(1, queryInfoList.size()), elapsedMs, slow);
+            MDC.put(MDC_COUNT, String.valueOf(stats.getCount()));
+            MDC.put(MDC_TIME, String.valueOf(stats.getTimeMs()));
+        }
+    }
+
+    private boolean resolveMeters() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return false;
+        }
+        slowStatements = registry.counter("shareit.jdbc.statements.slow");
+        statements = registry.timer("shareit.jdbc.statements");
+        return true;
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        return sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.jdbc;
+
+import lombok.Getter;
+
+@Getter
+public class SqlStatementStats {
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long timeMs;
+    private int slowCount;
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void record(int statements, long elapsedMs, boolean slow) {
+        count += statements;
+        timeMs += elapsedMs;
+        if (slow) {
+            slowCount++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserService;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private static final String METRIC = "shareit.service";
+    private static final String NONE = "none";
+    private static final List<Class<?>> SERVICES = List.of(ItemService.class, BookingService.class,
+            ItemRequestService.class, UserService.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTags> methods = new ConcurrentHashMap<>();
+
+    @Around("execution(* ru.practicum.shareit.item.ItemService.*(..)) || " +
+            "execution(* ru.practicum.shareit.booking.BookingService.*(..)) || " +
+            "execution(* ru.practicum.shareit.request.ItemRequestService.*(..)) || " +
+            "execution(* ru.practicum.shareit.user.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            MethodTags tags = methods.computeIfAbsent(signature.getMethod(), method -> MethodTags.of(signature));
+            tags.timer(meterRegistry, tags.state(joinPoint.getArgs()), exception)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static class MethodTags {
+        private final String service;
+        private final String method;
+        private final int stateIndex;
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+        private MethodTags(String service, String method, int stateIndex) {
+            this.service = service;
+            this.method = method;
+            this.stateIndex = stateIndex;
+        }
+
+        private static MethodTags of(MethodSignature signature) {
+            String service = SERVICES.stream()
+                    .filter(type -> type.isAssignableFrom(signature.getDeclaringType()))
+                    .map(Class::getSimpleName)
+                    .findFirst()
+                    .orElse(signature.getDeclaringType().getSimpleName());
+            String[] names = signature.getParameterNames();
+            int stateIndex = names == null ? -1 : Arrays.asList(names).indexOf("state");
+            return new MethodTags(service, signature.getName(), stateIndex);
+        }
+
+        private Timer timer(MeterRegistry registry, String state, String exception) {
+            return timers.computeIfAbsent(state + ":" + exception, key -> Timer.builder(METRIC)
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("state", state)
+                    .tag("outcome", NONE.equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+
+        private String state(Object[] args) {
+            if (stateIndex < 0) {
+                return NONE;
+            }
+
+            Object state = args[stateIndex];
+            if (state instanceof BookingState) {
+                return ((BookingState) state).name();
+            }
+            return BookingState.from(String.valueOf(state)).map(Enum::name).orElse("UNKNOWN");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.outbox;
+
+public enum EventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    STATUS_CHANGED
+}
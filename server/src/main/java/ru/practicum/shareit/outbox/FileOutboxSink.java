@@ -0,0 +1,53 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.file-sink.path")
+public class FileOutboxSink implements OutboxListener {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(@Value("${shareit.outbox.file-sink.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void onEvents(List<OutboxEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                writer.write(toLine(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toLine(OutboxEvent event) throws JsonProcessingException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("id", event.getId());
+        line.put("aggregateType", event.getAggregateType().name());
+        line.put("aggregateId", event.getAggregateId());
+        line.put("eventType", event.getEventType().name());
+        line.put("created", event.getCreated().toString());
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+        return objectMapper.writeValueAsString(line);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.outbox;
+
+import java.util.List;
+
+public interface OutboxListener {
+    void onEvents(List<OutboxEvent> events);
+}
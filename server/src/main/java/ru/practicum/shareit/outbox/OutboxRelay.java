@@ -0,0 +1,121 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxListener> listeners;
+
+    @Value("${shareit.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${shareit.outbox.retention-ms:86400000}")
+    private long retentionMs;
+
+    @Value("${shareit.outbox.undispatched-retention-ms:604800000}")
+    private long undispatchedRetentionMs;
+
+    @Value("${shareit.outbox.relay-ms:1000}")
+    private long relayMs;
+
+    @Value("${shareit.outbox.max-idle-ms:30000}")
+    private long maxIdleMs;
+
+    private volatile boolean pending;
+    private long idleMs;
+    private long nextPoll;
+
+    @PostConstruct
+    public void checkListeners() {
+        if (listeners.isEmpty()) {
+            log.warn("No outbox listeners configured, outbox events stay undispatched for {} ms",
+                    undispatchedRetentionMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay-ms:1000}",
+            initialDelayString = "${shareit.outbox.relay-ms:1000}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        if (listeners.isEmpty() || (!pending && now < nextPoll)) {
+            return;
+        }
+        pending = false;
+
+        if (relay() > 0) {
+            idleMs = 0;
+        } else {
+            idleMs = Math.min(maxIdleMs, Math.max(relayMs, idleMs * 2));
+        }
+        nextPoll = now + idleMs;
+    }
+
+    public void wakeUp() {
+        pending = true;
+    }
+
+    public synchronized int relay() {
+        if (listeners.isEmpty()) {
+            return 0;
+        }
+
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = relayBatch();
+            total += dispatched;
+        } while (dispatched == batchSize);
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.cleanup-ms:3600000}",
+            initialDelayString = "${shareit.outbox.cleanup-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = outboxEventRepository.deleteDispatchedBefore(now.minus(retentionMs, ChronoUnit.MILLIS));
+        log.debug("Deleted {} dispatched outbox events", deleted);
+
+        int expired = outboxEventRepository.deleteUndispatchedBefore(now.minus(undispatchedRetentionMs,
+                ChronoUnit.MILLIS));
+        if (expired > 0) {
+            log.warn("Deleted {} outbox events that were never dispatched", expired);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findAllByDispatchedIsNullOrderByIdAsc(
+                PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        for (OutboxListener listener : listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                log.warn("Outbox listener {} failed, events from id={} will be redelivered",
+                        listener.getClass().getSimpleName(), events.get(0).getId(), e);
+                return 0;
+            }
+        }
+
+        outboxEventRepository.markDispatched(events.stream()
+                .map(OutboxEvent::getId)
+                .collect(Collectors.toList()), LocalDateTime.now());
+        return events.size();
+    }
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -33,8 +37,17 @@ public class ItemRequestController {
     @GetMapping("/all")
     public List<ItemRequestDto> getAllRequestOtherUsers(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                                         @RequestParam(value = "from", defaultValue = "0") Integer from,
-                                                        @RequestParam(value = "size", defaultValue = "10") Integer size) {
-        return itemRequestService.getRequestsOtherUsers(userId, from, size);
+                                                        @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                        @RequestParam(value = "afterCreated", required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime afterCreated,
+                                                        @RequestParam(value = "afterId", required = false) Long afterId) {
+        return itemRequestService.getRequestsOtherUsers(userId, from, size, afterCreated, afterId);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequestOtherUsers(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        return itemRequestService.subscribeToRequestsOtherUsers(userId);
     }
 
 }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class ItemRequestMapper {
@@ -25,6 +28,27 @@ public class ItemRequestMapper {
                 .build();
     }
 
+    public static List<ItemRequestDto> rowsToDto(List<ItemRequestRow> rows) {
+        Map<Long, ItemRequestDto> requests = new LinkedHashMap<>();
+
+        for (ItemRequestRow row : rows) {
+            ItemRequestDto request = requests.computeIfAbsent(row.getRequestId(), id -> ItemRequestDto.builder()
+                    .id(id)
+                    .requestorId(row.getRequestorId())
+                    .description(row.getDescription())
+                    .created(row.getCreated())
+                    .items(new ArrayList<>())
+                    .build());
+
+            if (row.getItemId() != null) {
+                request.getItems().add(new ItemDto(row.getItemId(), row.getItemOwnerId(), row.getItemName(),
+                        row.getItemDescription(), row.getItemAvailable(), row.getRequestId()));
+            }
+        }
+
+        return new ArrayList<>(requests.values());
+    }
+
     public static List<ItemRequestDto> objectToDto(List<ItemRequest> objects) {
         return objects.stream()
                 .map(ItemRequestMapper::objectToDto)
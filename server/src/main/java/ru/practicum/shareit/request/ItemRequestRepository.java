@@ -1,16 +1,43 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    String SELECT_ROWS = "SELECT p.id AS requestId, p.description AS description, " +
+            "p.requestor_id AS requestorId, p.date_created AS created, " +
+            "i.id AS itemId, i.owner_id AS itemOwnerId, i.name AS itemName, " +
+            "i.description AS itemDescription, i.is_available AS itemAvailable " +
+            "FROM (";
+
+    String JOIN_ITEMS = ") p " +
+            "LEFT JOIN items i ON i.request_id = p.id " +
+            "ORDER BY p.date_created DESC, p.id DESC, i.id";
+
     List<ItemRequest> findAllByRequestorId(Long userId);
 
-    @Query(value = "SELECT ir FROM ItemRequest ir WHERE ir.requestor.id <> ?1")
-    List<ItemRequest> findAllByOwnerId(Long userId, Pageable pageable);
+    @Query(value = SELECT_ROWS +
+            "SELECT r.id, r.description, r.requestor_id, r.date_created " +
+            "FROM requests r " +
+            "WHERE r.requestor_id <> ?1 " +
+            "ORDER BY r.date_created DESC, r.id DESC " +
+            "LIMIT ?2 OFFSET ?3" +
+            JOIN_ITEMS, nativeQuery = true)
+    List<ItemRequestRow> findPageWithItemsByOtherUsers(Long userId, int limit, long offset);
+
+    @Query(value = SELECT_ROWS +
+            "SELECT r.id, r.description, r.requestor_id, r.date_created " +
+            "FROM requests r " +
+            "WHERE r.requestor_id <> ?1 " +
+            "AND (r.date_created < ?2 OR (r.date_created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.date_created DESC, r.id DESC " +
+            "LIMIT ?4" +
+            JOIN_ITEMS, nativeQuery = true)
+    List<ItemRequestRow> findPageWithItemsByOtherUsersAfter(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                            int limit);
 }
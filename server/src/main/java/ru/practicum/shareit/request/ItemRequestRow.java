@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request;
+
+import java.time.LocalDateTime;
+
+public interface ItemRequestRow {
+    Long getRequestId();
+
+    String getDescription();
+
+    Long getRequestorId();
+
+    LocalDateTime getCreated();
+
+    Long getItemId();
+
+    Long getItemOwnerId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+}
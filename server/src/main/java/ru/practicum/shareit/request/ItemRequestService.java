@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestService {
@@ -13,5 +15,8 @@ public interface ItemRequestService {
 
     ItemRequestDto getRequestByUserId(Long userId, Long requestId);
 
-    List<ItemRequestDto> getRequestsOtherUsers(Long userId, Integer from, Integer size);
+    List<ItemRequestDto> getRequestsOtherUsers(Long userId, Integer from, Integer size,
+                                               LocalDateTime afterCreated, Long afterId);
+
+    SseEmitter subscribeToRequestsOtherUsers(Long userId);
 }
@@ -1,18 +1,18 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.SingleFlight;
+import ru.practicum.shareit.util.TransactionUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +26,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final ItemRequestFeed itemRequestFeed;
+
+    private final SingleFlight<Long, List<ItemRequestDto>> ownerRequestLoads = new SingleFlight<>();
+    private final SingleFlight<Long, ItemRequestDto> requestLoads = new SingleFlight<>();
+    private final SingleFlight<List<Object>, List<ItemRequestDto>> otherRequestLoads = new SingleFlight<>();
 
     @Override
     public ItemRequest getRequestById(Long id) {
@@ -41,72 +46,90 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequest.setRequestor(user);
         itemRequest.setCreated(LocalDateTime.now());
 
-        return ItemRequestMapper.objectToDto(itemRequestRepository.save(itemRequest));
+        ItemRequestDto created = ItemRequestMapper.objectToDto(itemRequestRepository.save(itemRequest));
+        TransactionUtils.afterCommit(() -> itemRequestFeed.publish(created));
+
+        return created;
     }
 
     @Override
     public List<ItemRequestDto> getOwnerRequestByUserId(Long userId) {
+        return ownerRequestLoads.execute(userId, () -> loadOwnerRequests(userId));
+    }
+
+    @Override
+    public ItemRequestDto getRequestByUserId(Long userId, Long requestId) {
         userService.checkExistUserById(userId);
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorId(userId);
+        return requestLoads.execute(requestId, () -> loadRequest(requestId));
+    }
 
-        List<Item> items = itemService.getAllByRequestIds(requests
-                .stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toSet()));
+    @Override
+    public List<ItemRequestDto> getRequestsOtherUsers(Long userId, Integer from, Integer size,
+                                                      LocalDateTime afterCreated, Long afterId) {
+        userService.checkExistUserById(userId);
 
-        Map<Long, ItemRequestDto> requestDtos = ItemRequestMapper.objectToDto(requests).stream()
-                .collect(Collectors.toMap(ItemRequestDto::getId, request -> request));
+        if (from < 0 || size <= 0) {
+            throw new NoValidArgumentException("The request parameters from b size are invalid and cannot be negative");
+        }
 
-        items.forEach(item -> {
-            Long id = item.getRequest().getId();
-            requestDtos.get(id).getItems().add(ItemMapper.objectToDto(item));
-        });
+        if ((afterCreated == null) != (afterId == null)) {
+            throw new NoValidArgumentException("The request parameters afterCreated and afterId must be set together");
+        }
+
+        if (afterCreated != null) {
+            return otherRequestLoads.execute(List.of(userId, afterCreated, afterId, size),
+                    () -> loadRequestsOtherUsersAfter(userId, afterCreated, afterId, size));
+        }
 
-        return new ArrayList<>(requestDtos.values());
+        return otherRequestLoads.execute(List.of(userId, from, size), () -> loadRequestsOtherUsers(userId, from, size));
     }
 
     @Override
-    public ItemRequestDto getRequestByUserId(Long userId, Long requestId) {
+    public SseEmitter subscribeToRequestsOtherUsers(Long userId) {
         userService.checkExistUserById(userId);
 
-        ItemRequest itemRequest = getRequestById(requestId);
+        return itemRequestFeed.subscribe(userId);
+    }
 
-        Item item = itemService.getItemByRequestId(requestId);
+    private List<ItemRequestDto> loadOwnerRequests(Long userId) {
+        userService.checkExistUserById(userId);
+
+        return withItems(itemRequestRepository.findAllByRequestorId(userId));
+    }
+
+    private ItemRequestDto loadRequest(Long requestId) {
+        ItemRequest itemRequest = getRequestById(requestId);
 
         ItemRequestDto itemRequestDto = ItemRequestMapper.objectToDto(itemRequest);
-        itemRequestDto.setItems(List.of(ItemMapper.objectToDto(item)));
+        itemRequestDto.setItems(itemService.getItemsByRequestIds(List.of(requestId))
+                .getOrDefault(requestId, new ArrayList<>()));
 
         return itemRequestDto;
     }
 
-    @Override
-    public List<ItemRequestDto> getRequestsOtherUsers(Long userId, Integer from, Integer size) {
-        userService.checkExistUserById(userId);
-
-        if (from < 0 || size <= 0) {
-            throw new NoValidArgumentException("The request parameters from b size are invalid and cannot be negative");
-        }
-
+    private List<ItemRequestDto> loadRequestsOtherUsers(Long userId, Integer from, Integer size) {
         int page = from == 0 ? 0 : (from / size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("created").descending());
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByOwnerId(userId, pageable);
+        return ItemRequestMapper.rowsToDto(itemRequestRepository
+                .findPageWithItemsByOtherUsers(userId, size, (long) page * size));
+    }
 
-        Map<Long, ItemRequestDto> requestDtos = ItemRequestMapper.objectToDto(requests).stream()
-                .collect(Collectors.toMap(ItemRequestDto::getId, requestDto -> requestDto));
+    private List<ItemRequestDto> loadRequestsOtherUsersAfter(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                             Integer size) {
+        return ItemRequestMapper.rowsToDto(itemRequestRepository
+                .findPageWithItemsByOtherUsersAfter(userId, afterCreated, afterId, size));
+    }
 
-        List<Item> items = itemService.getAllByRequestIds(requests
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        Map<Long, List<ItemDto>> items = itemService.getItemsByRequestIds(requests
                 .stream()
                 .map(ItemRequest::getId)
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toList()));
 
-        items.forEach(item -> {
-            Long id = item.getRequest().getId();
-            requestDtos.get(id).getItems().add(ItemMapper.objectToDto(item));
-        });
+        List<ItemRequestDto> requestDtos = ItemRequestMapper.objectToDto(requests);
+        requestDtos.forEach(request -> request.setItems(items.getOrDefault(request.getId(), new ArrayList<>())));
 
-        return new ArrayList<>(requestDtos.values());
+        return requestDtos;
     }
-
 }
@@ -0,0 +1,201 @@
+package ru.practicum.shareit.request.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class ItemRequestFeed {
+    private static final String EVENT_NAME = "request";
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ItemRequestFeed(@Value("${shareit.requests.feed.buffer-size:64}") int bufferSize,
+                           @Value("${shareit.requests.feed.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${shareit.requests.feed.send-timeout-ms:10000}") long sendTimeoutMs,
+                           @Value("${shareit.requests.feed.sender-threads:8}") int senderThreads,
+                           @Value("${shareit.requests.feed.heartbeat-ms:15000}") long heartbeatMs) {
+        this(bufferSize, timeoutMs, sendTimeoutMs, senderPool(senderThreads));
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    ItemRequestFeed(int bufferSize, long timeoutMs, long sendTimeoutMs, ExecutorService sender) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.sender = sender;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeoutMs));
+    }
+
+    public void publish(ItemRequestDto request) {
+        for (Subscriber subscriber : subscribers) {
+            if (!Objects.equals(subscriber.userId, request.getRequestorId())) {
+                subscriber.offer(request);
+            }
+        }
+    }
+
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long sendStarted = subscriber.sendStarted;
+            if (sendStarted > 0 && now - sendStarted > sendTimeoutMs) {
+                subscriber.abandon(new IOException("Send did not finish in " + sendTimeoutMs + " ms"));
+            } else {
+                subscriber.heartbeatDue.set(true);
+                subscriber.scheduleDrain();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.abandon(null));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        return emitter;
+    }
+
+    private static ExecutorService senderPool(int threads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ItemRequestDto> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile Exception closeReason;
+        private volatile long sendStarted;
+
+        Subscriber(Long userId, SseEmitter emitter, BlockingQueue<ItemRequestDto> buffer) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        void offer(ItemRequestDto request) {
+            while (!buffer.offer(request)) {
+                ItemRequestDto dropped = buffer.poll();
+                if (dropped != null) {
+                    log.debug("Feed buffer of user {} is full, dropped request {}", userId, dropped.getId());
+                }
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                ItemRequestDto request;
+                while (!closed && (request = buffer.poll()) != null) {
+                    send(SseEmitter.event()
+                            .id(String.valueOf(request.getId()))
+                            .name(EVENT_NAME)
+                            .data(request));
+                }
+                if (!closed && heartbeatDue.getAndSet(false)) {
+                    send(SseEmitter.event().comment(HEARTBEAT));
+                }
+            } catch (IOException | IllegalStateException e) {
+                abandon(e);
+            } finally {
+                draining.set(false);
+            }
+
+            if (closed) {
+                complete();
+            } else if (!buffer.isEmpty() || heartbeatDue.get()) {
+                scheduleDrain();
+            }
+        }
+
+        void abandon(Exception e) {
+            closeReason = e;
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            if (sendStarted == 0 && !draining.get()) {
+                complete();
+            }
+        }
+
+        void complete() {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (closeReason == null) {
+                    emitter.complete();
+                } else {
+                    emitter.completeWithError(closeReason);
+                }
+            } catch (IllegalStateException e) {
+                log.debug("Feed emitter of user {} is already completed", userId);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStarted = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStarted = 0;
+            }
+        }
+    }
+}
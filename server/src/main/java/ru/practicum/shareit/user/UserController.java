@@ -17,6 +17,11 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> getUsersByIds(@RequestParam(name = "ids") List<Long> ids) {
+        return userService.getUsersByIds(ids);
+    }
+
     @GetMapping("/{userId}")
     public UserDto getUser(@PathVariable(name = "userId") Long userId) {
         return userService.getUserById(userId);
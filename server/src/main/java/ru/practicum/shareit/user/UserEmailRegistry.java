@@ -0,0 +1,50 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.util.TransactionUtils;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEmailRegistry {
+    private final UserRepository userRepository;
+
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        userRepository.findAllEmails().forEach(email -> emails.add(normalize(email)));
+        log.info("Loaded {} user emails", emails.size());
+    }
+
+    public void reserve(String email) {
+        String key = normalize(email);
+        if (!emails.add(key)) {
+            throw new ConflictException(String.format("User with email='%s' already exists", email));
+        }
+        TransactionUtils.afterRollback(() -> emails.remove(key));
+    }
+
+    public void release(String email) {
+        String key = normalize(email);
+        TransactionUtils.afterCommit(() -> emails.remove(key));
+    }
+
+    public static boolean isSame(String email, String other) {
+        return Objects.equals(normalize(email), normalize(other));
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -13,6 +13,8 @@ public interface UserService {
 
     UserDto getUserById(Long userId);
 
+    List<UserDto> getUsersByIds(List<Long> ids);
+
     User findUserById(Long userId);
 
     void deleteUserById(Long id);
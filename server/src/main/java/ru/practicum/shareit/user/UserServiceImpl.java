@@ -1,24 +1,58 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.geo.ItemGeoIndex;
+import ru.practicum.shareit.item.search.ItemNameIndex;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final int MAX_IDS = 100;
+
     private final UserRepository userRepository;
+    private final UserEmailRegistry userEmailRegistry;
+    private final Outbox outbox;
+    private final BookingRepository bookingRepository;
+    private final BookingCounterService bookingCounterService;
+    private final ItemRepository itemRepository;
+    private final ItemNameIndex itemNameIndex;
+    private final ItemGeoIndex itemGeoIndex;
 
     @Override
     @Transactional
     public UserDto createUser(UserDto userRequest) {
         User newUser = UserMapper.dtoToObject(userRequest);
-        return UserMapper.objectToDto(userRepository.save(newUser));
+        userEmailRegistry.reserve(newUser.getEmail());
+
+        try {
+            UserDto created = UserMapper.objectToDto(userRepository.save(newUser));
+            outbox.record(AggregateType.USER, created.getId(), EventType.CREATED, created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(String.format("User with email='%s' already exists", newUser.getEmail()));
+        }
     }
 
     @Override
@@ -33,6 +67,10 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NoFoundObjectException(String.format("User with id='%s' not found", userId)));
 
         if (request.getEmail() != null && !Objects.equals(request.getEmail(), user.getEmail())) {
+            if (!UserEmailRegistry.isSame(request.getEmail(), user.getEmail())) {
+                userEmailRegistry.reserve(request.getEmail());
+                userEmailRegistry.release(user.getEmail());
+            }
             user.setEmail(request.getEmail());
         }
 
@@ -40,9 +78,15 @@ public class UserServiceImpl implements UserService {
             user.setName(request.getName());
         }
 
-        User savedUser = userRepository.save(user);
-
-        return UserMapper.objectToDto(savedUser);
+        try {
+            User savedUser = userRepository.save(user);
+            userRepository.flush();
+            UserDto updated = UserMapper.objectToDto(savedUser);
+            outbox.record(AggregateType.USER, userId, EventType.UPDATED, updated);
+            return updated;
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(String.format("User with email='%s' already exists", user.getEmail()));
+        }
     }
 
     @Override
@@ -53,6 +97,24 @@ public class UserServiceImpl implements UserService {
         return UserMapper.objectToDto(user);
     }
 
+    @Override
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new NoValidArgumentException("Number of ids must be between 1 and " + MAX_IDS);
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+
+        Map<Long, User> users = userRepository.findAllById(uniqueIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return uniqueIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(UserMapper::objectToDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public User findUserById(Long userId) {
         return userRepository.findById(userId)
@@ -69,8 +131,16 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUserById(Long id) {
-        checkExistUserById(id);
+        User user = findUserById(id);
+        bookingCounterService.onDeleted(bookingRepository.findAllShortWithArchiveByUserId(id).stream()
+                .map(BookingShortView::getShort)
+                .collect(Collectors.toList()));
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
         userRepository.deleteById(id);
+        itemNameIndex.remove(itemIds);
+        itemGeoIndex.remove(itemIds);
+        userEmailRegistry.release(user.getEmail());
+        outbox.record(AggregateType.USER, id, EventType.DELETED, UserMapper.objectToDto(user));
     }
 
 }
@@ -0,0 +1,34 @@
+CREATE TABLE IF NOT EXISTS bookings
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    item_id    BIGINT                                  NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    booker_id  BIGINT                                  NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    status     VARCHAR(50)                             NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_start_date ON bookings (start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_end_date ON bookings (end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_period ON bookings (item_id, start_date, end_date);
+
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id         BIGINT                      NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT                      NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    booker_id  BIGINT                      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    status     VARCHAR(50)                 NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id, start_date)
+);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_booker ON bookings_archive (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_item ON bookings_archive (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_status ON bookings (booker_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_outbox_events_pending ON outbox_events (dispatched, id);
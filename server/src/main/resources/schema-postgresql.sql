@@ -0,0 +1,68 @@
+DO '
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(''bookings'')) = ''r'' THEN
+        ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+        ALTER TABLE bookings_unpartitioned RENAME CONSTRAINT pk_bookings TO pk_bookings_unpartitioned;
+    END IF;
+END';
+
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq;
+
+CREATE TABLE IF NOT EXISTS bookings
+(
+    id         BIGINT DEFAULT nextval('bookings_id_seq') NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE               NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE               NOT NULL,
+    item_id    BIGINT                                    NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    booker_id  BIGINT                                    NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    status     VARCHAR(50)                               NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT;
+
+DO '
+BEGIN
+    IF to_regclass(''bookings_unpartitioned'') IS NOT NULL THEN
+        INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+        SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_unpartitioned;
+        PERFORM setval(''bookings_id_seq'', (SELECT coalesce(max(id), 0) + 1 FROM bookings), false);
+        DROP TABLE bookings_unpartitioned;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS ix_bookings_start_date ON bookings (start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_end_date ON bookings (end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_period ON bookings (item_id, start_date, end_date);
+
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id         BIGINT                      NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT                      NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    booker_id  BIGINT                      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    status     VARCHAR(50)                 NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_booker ON bookings_archive (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_item ON bookings_archive (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_waiting ON bookings (booker_id, start_date DESC) WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_rejected ON bookings (booker_id, start_date DESC) WHERE status = 'REJECTED';
+CREATE INDEX IF NOT EXISTS ix_bookings_item_waiting ON bookings (item_id, start_date DESC) WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS ix_bookings_item_rejected ON bookings (item_id, start_date DESC) WHERE status = 'REJECTED';
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (lower(email));
+CREATE INDEX IF NOT EXISTS ix_outbox_events_pending ON outbox_events (id) WHERE dispatched IS NULL;
+
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = ''pg_trgm'') THEN
+        CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (lower(name) gin_trgm_ops) WHERE is_available;
+        CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops) WHERE is_available;
+    ELSE
+        RAISE WARNING ''pg_trgm is not installed, item search runs without trigram indexes'';
+    END IF;
+END';
@@ -16,27 +16,22 @@ CREATE TABLE IF NOT EXISTS requests
     CONSTRAINT pk_requests PRIMARY KEY (id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (date_created DESC, id DESC);
+
 CREATE TABLE IF NOT EXISTS items
 (
     id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name         VARCHAR(255)                            NOT NULL,
     description  VARCHAR(512)                            NOT NULL,
     is_available BOOLEAN                                 NOT NULL,
+    latitude     DOUBLE PRECISION,
+    longitude    DOUBLE PRECISION,
     owner_id     BIGINT                                  NOT NULL REFERENCES users (id) ON DELETE CASCADE,
     request_id   BIGINT REFERENCES requests (id) ON DELETE CASCADE,
     CONSTRAINT pk_items PRIMARY KEY (id)
 );
 
-CREATE TABLE IF NOT EXISTS bookings
-(
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
-    end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
-    item_id    BIGINT                                  NOT NULL REFERENCES items (id) ON DELETE CASCADE,
-    booker_id  BIGINT                                  NOT NULL REFERENCES users (id) ON DELETE CASCADE,
-    status     VARCHAR(50)                             NOT NULL,
-    CONSTRAINT pk_bookings PRIMARY KEY (id)
-);
+CREATE INDEX IF NOT EXISTS ix_items_request_id ON items (request_id);
 
 CREATE TABLE IF NOT EXISTS comments
 (
@@ -46,4 +41,17 @@ CREATE TABLE IF NOT EXISTS comments
     author_id BIGINT                                  NOT NULL REFERENCES users (id) ON DELETE CASCADE,
     created   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     CONSTRAINT pk_comments PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS ix_comments_item_id ON comments (item_id, id);
+
+CREATE TABLE IF NOT EXISTS outbox_events
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    aggregate_type VARCHAR(50)                             NOT NULL,
+    aggregate_id   BIGINT                                  NOT NULL,
+    event_type     VARCHAR(50)                             NOT NULL,
+    payload        TEXT                                    NOT NULL,
+    created        TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    dispatched     TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
@@ -9,6 +9,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.booking.dto.BookingApprovalRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalResult;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
@@ -17,10 +19,10 @@ import ru.practicum.shareit.exception.NoValidArgumentException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -181,6 +183,27 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.item.name").value("Book"));
     }
 
+    @Test
+    void changeBookingStatuses_statusOk_requestIsCorrect() throws Exception {
+        BookingApprovalRequest request = new BookingApprovalRequest(List.of(1L, 2L));
+
+        when(bookingService.updateStatusByIds(anyList(), anyBoolean(), anyLong()))
+                .thenReturn(List.of(
+                        new BookingApprovalResult(1L, BookingApprovalResult.Outcome.UPDATED, BookingStatus.APPROVED),
+                        new BookingApprovalResult(2L, BookingApprovalResult.Outcome.NOT_OWNER, null)));
+
+        mvc.perform(patch("/bookings/approvals")
+                        .header(userIdHeader, 1)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].outcome").value("UPDATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].outcome").value("NOT_OWNER"));
+    }
+
     @Test
     void getBookingInfo_statusOk_bookingExist() throws Exception {
         BookingResponse bookingResponse = BookingResponse.builder()
@@ -299,4 +322,42 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0]").doesNotExist());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookerCounters_statusOk_bookerExist() throws Exception {
+        when(bookingService.getBookerCounters(anyLong()))
+                .thenReturn(Map.of(BookingState.ALL, 3L, BookingState.WAITING, 1L));
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/counters")
+                        .header(userIdHeader, 1))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ALL").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.WAITING").value(1));
+    }
+
+    @Test
+    void getOwnerCounters_statusNotFound_ownerDontExist() throws Exception {
+        doThrow(NoFoundObjectException.class)
+                .when(bookingService).getOwnerCounters(anyLong());
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/owner/counters")
+                        .header(userIdHeader, 1))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void getBookingsByIds_statusOk_idsParamPresent() throws Exception {
+        when(bookingService.getBookingsByIds(anyList(), anyLong()))
+                .thenReturn(List.of());
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .header(userIdHeader, 1)
+                        .param("ids", "1,2"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        verify(bookingService, times(1)).getBookingsByIds(List.of(1L, 2L), 1L);
+    }
+}
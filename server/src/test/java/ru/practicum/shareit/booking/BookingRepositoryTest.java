@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@DataJpaTest
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+@Sql("classpath:repository/data.sql")
+class BookingRepositoryTest {
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Test
+    void findHistoryByBookerIdAndStatus_pastWaitingBookingReturned_bookingStartedInPast() {
+        List<Booking> results = bookingRepository.findHistoryByBookerIdAndStatus(3L, BookingStatus.WAITING.name(),
+                10, 0);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void findHistoryByItemIdInAndStatus_pastRejectedBookingReturned_bookingStartedInPast() {
+        List<Booking> results = bookingRepository.findHistoryByItemIdInAndStatus(List.of(1L),
+                BookingStatus.REJECTED.name(), 10, 0);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getBooker().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void updateStatusByIdIfWaiting_onlyFirstUpdateApplied_bookingIsWaiting() {
+        assertThat(bookingRepository.updateStatusByIdIfWaiting(1L, BookingStatus.APPROVED)).isEqualTo(1);
+        assertThat(bookingRepository.updateStatusByIdIfWaiting(1L, BookingStatus.APPROVED)).isZero();
+        assertThat(bookingRepository.updateStatusByIdIfWaiting(2L, BookingStatus.APPROVED)).isZero();
+        assertThat(bookingRepository.findAllById(List.of(1L, 2L)))
+                .extracting(Booking::getStatus)
+                .containsExactlyInAnyOrder(BookingStatus.APPROVED, BookingStatus.REJECTED);
+    }
+
+    @Test
+    void updateStatusByIdInIfWaiting_onlyWaitingBookingsUpdated_lockedBookings() {
+        assertThat(bookingRepository.lockAllByIdIn(List.of(3L, 1L, 2L, 99L))).containsExactly(1L, 2L, 3L);
+        assertThat(bookingRepository.updateStatusByIdInIfWaiting(List.of(1L, 2L), BookingStatus.APPROVED))
+                .isEqualTo(1);
+        assertThat(bookingRepository.findAllById(List.of(1L, 2L)))
+                .extracting(Booking::getStatus)
+                .containsExactlyInAnyOrder(BookingStatus.APPROVED, BookingStatus.REJECTED);
+    }
+
+    @Test
+    void findAllWithItemAndBookerByIdIn_itemAndBookerLoaded_bookingsExist() {
+        List<Booking> results = bookingRepository.findAllWithItemAndBookerByIdIn(List.of(1L, 2L, 99L));
+
+        assertThat(results).extracting(Booking::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(results).extracting(booking -> booking.getItem().getOwner().getId()).containsOnly(1L);
+        assertThat(results).extracting(booking -> booking.getBooker().getId()).containsOnly(3L);
+    }
+
+    @Test
+    void existsApprovedByItemIdAndBookerIdAndEndBefore_onlyApprovedBookingCounts_pastBookingsWithDifferentStatuses() {
+        assertThat(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(1L, 3L,
+                LocalDateTime.of(2023, 6, 10, 0, 0))).isFalse();
+        assertThat(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(1L, 3L,
+                LocalDateTime.of(2023, 6, 22, 0, 0))).isTrue();
+        assertThat(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(1L, 2L,
+                LocalDateTime.of(2023, 6, 22, 0, 0))).isFalse();
+    }
+
+    @Test
+    @Sql(scripts = "classpath:repository/data.sql", statements = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, status) VALUES " +
+            "(100, '2022-01-10T10:00:00', '2022-01-11T10:00:00', 1, 3, 'APPROVED')")
+    void existsApprovedByItemIdAndBookerIdAndEndBefore_true_approvedBookingArchived() {
+        assertThat(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(1L, 3L,
+                LocalDateTime.of(2022, 2, 1, 0, 0))).isTrue();
+        assertThat(bookingRepository.findArchivedById(100L)).map(Booking::getId).contains(100L);
+        assertThat(bookingRepository.findArchivedById(1L)).isEmpty();
+    }
+
+    @Test
+    void findAllPeriodsByItemIdAndStatusIn_onlyRequestedStatusesOrderedByStart_itemHasBookings() {
+        List<BookingPeriod> results = bookingRepository.findAllPeriodsByItemIdAndStatusIn(1L,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+
+        assertThat(results).extracting(BookingPeriod::getStart).containsExactly(
+                LocalDateTime.of(2023, 6, 1, 10, 0),
+                LocalDateTime.of(2023, 6, 20, 10, 0));
+    }
+
+    @Test
+    @Sql(scripts = "classpath:repository/data.sql", statements = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, status) VALUES " +
+            "(100, '2022-01-10T10:00:00', '2022-01-11T10:00:00', 1, 3, 'APPROVED')")
+    void findPastByBookerId_hotAndArchivedBookingsNewestFirst_archivedBookingExists() {
+        LocalDateTime now = LocalDateTime.of(2023, 6, 15, 0, 0);
+
+        List<Booking> results = bookingRepository.findPastByBookerId(3L, now, 10, 0);
+        List<Booking> page = bookingRepository.findPastByBookerId(3L, now, 1, 2);
+
+        assertThat(results.stream().map(Booking::getId).collect(Collectors.toList())).containsExactly(2L, 1L, 100L);
+        assertThat(page.get(0).getId()).isEqualTo(100L);
+    }
+
+    @Test
+    @Sql(scripts = "classpath:repository/data.sql", statements = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, status) VALUES " +
+            "(100, '2022-01-10T10:00:00', '2022-01-11T10:00:00', 1, 3, 'APPROVED')")
+    void findPastByItemIdIn_onlyFinishedBookings_futureBookingExists() {
+        LocalDateTime now = LocalDateTime.of(2023, 6, 5, 12, 0);
+
+        List<Booking> results = bookingRepository.findPastByItemIdIn(List.of(1L), now, 10, 0);
+
+        assertThat(results.stream().map(Booking::getId).collect(Collectors.toList())).containsExactly(1L, 100L);
+    }
+
+    @Test
+    @Sql(scripts = "classpath:repository/data.sql", statements = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, status) VALUES " +
+            "(100, '2022-01-10T10:00:00', '2022-01-11T10:00:00', 1, 3, 'REJECTED')")
+    void findHistoryByBookerId_hotAndArchivedBookingsNewestFirst_archivedBookingExists() {
+        assertThat(bookingRepository.findHistoryByBookerId(3L, 10, 0))
+                .extracting(Booking::getId).containsExactly(3L, 2L, 1L, 100L);
+        assertThat(bookingRepository.findHistoryByItemIdIn(List.of(1L), 2, 2))
+                .extracting(Booking::getId).containsExactly(1L, 100L);
+        assertThat(bookingRepository.findHistoryByBookerIdAndStatus(3L, BookingStatus.REJECTED.name(), 10, 0))
+                .extracting(Booking::getId).containsExactly(2L, 100L);
+        assertThat(bookingRepository.findAllHistoryByItemId(1L)).extracting(Booking::getId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 100L);
+        assertThat(bookingRepository.findAllHistoryByItemIdIn(List.of(1L, 2L))).hasSize(4);
+    }
+
+    @Test
+    @Sql(scripts = "classpath:repository/data.sql", statements = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, status) VALUES " +
+            "(100, '2022-01-10T10:00:00', '2022-01-11T10:00:00', 1, 3, 'APPROVED')")
+    void findAllShortWithArchive_archivedBookingIncluded_archivedBookingExists() {
+        List<BookingShort> results = bookingRepository.findAllShortWithArchive().stream()
+                .map(BookingShortView::getShort)
+                .collect(Collectors.toList());
+
+        assertThat(results).extracting(BookingShort::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 100L);
+        assertThat(results).extracting(BookingShort::getOwnerId).containsOnly(1L);
+        assertThat(results).filteredOn(booking -> booking.getId() == 100L).first()
+                .satisfies(booking -> {
+                    assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+                    assertThat(booking.getEnd()).isEqualTo(LocalDateTime.of(2022, 1, 11, 10, 0));
+                });
+        assertThat(bookingRepository.findAllShortWithArchiveByUserId(1L)).hasSize(4);
+        assertThat(bookingRepository.findAllShortWithArchiveByUserId(2L)).isEmpty();
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.BookingSegmentStore;
+import ru.practicum.shareit.booking.dto.BookingApprovalResult;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
@@ -13,12 +16,18 @@ import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.availability.AvailabilityCache;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +48,15 @@ class BookingServiceImplTest {
     @MockBean
     ItemRepository itemRepository;
 
+    @MockBean
+    Outbox outbox;
+
+    @MockBean
+    AvailabilityCache availabilityCache;
+
+    @MockBean
+    BookingSegmentStore bookingSegmentStore;
+
     User user;
     User user2;
 
@@ -69,52 +87,66 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByItemId_notEmptyList_bookingsExist() {
-        when(bookingRepository.findAllByItemId(anyLong())).thenReturn(List.of(booking));
+        when(bookingRepository.findAllHistoryByItemId(anyLong())).thenReturn(List.of(booking));
         List<Booking> result = underTest.getAllByItemId(1L);
-        verify(bookingRepository, times(1)).findAllByItemId(anyLong());
+        verify(bookingRepository, times(1)).findAllHistoryByItemId(anyLong());
         assertFalse(result.isEmpty());
     }
 
     @Test
     void getAllByItemId_emptyList_bookingsDesNotExist() {
-        when(bookingRepository.findAllByItemId(anyLong())).thenReturn(List.of());
+        when(bookingRepository.findAllHistoryByItemId(anyLong())).thenReturn(List.of());
         List<Booking> result = underTest.getAllByItemId(1L);
-        verify(bookingRepository, times(1)).findAllByItemId(anyLong());
+        verify(bookingRepository, times(1)).findAllHistoryByItemId(anyLong());
         assertTrue(result.isEmpty());
     }
 
     @Test
     void getAllByItemIdIn_notEmptyList_bookingsExist() {
-        when(bookingRepository.findAllByItemIdIn(anyList())).thenReturn(List.of(booking));
+        when(bookingRepository.findAllHistoryByItemIdIn(anyList())).thenReturn(List.of(booking));
         List<Booking> result = underTest.getAllByItemIdIn(List.of(1L, 2L));
-        verify(bookingRepository, times(1)).findAllByItemIdIn(anyList());
+        verify(bookingRepository, times(1)).findAllHistoryByItemIdIn(anyList());
         assertFalse(result.isEmpty());
     }
 
     @Test
     void getAllByItemIdIn_emptyList_bookingsDoesNottExist() {
-        when(bookingRepository.findAllByItemIdIn(anyList())).thenReturn(List.of());
+        when(bookingRepository.findAllHistoryByItemIdIn(anyList())).thenReturn(List.of());
         List<Booking> result = underTest.getAllByItemIdIn(List.of(1L, 2L));
-        verify(bookingRepository, times(1)).findAllByItemIdIn(anyList());
+        verify(bookingRepository, times(1)).findAllHistoryByItemIdIn(anyList());
         assertTrue(result.isEmpty());
     }
 
     @Test
-    void getAllByItemAndEndBeforeDate_notEmptyList_bookingsExist() {
-        when(bookingRepository.findByItemIdAndEndIsBefore(anyLong(), any(LocalDateTime.class)))
-                .thenReturn(List.of(booking));
-        List<Booking> result = underTest.getAllByItemAndEndBeforeDate(1L, LocalDateTime.now());
-        verify(bookingRepository, times(1)).findByItemIdAndEndIsBefore(anyLong(), any());
-        assertFalse(result.isEmpty());
+    void hasFinishedBooking_true_approvedBookingExists() {
+        when(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(anyLong(), anyLong(),
+                any(LocalDateTime.class)))
+                .thenReturn(true);
+        boolean result = underTest.hasFinishedBooking(1L, 2L, LocalDateTime.now());
+        verify(bookingRepository, times(1)).existsApprovedByItemIdAndBookerIdAndEndBefore(eq(1L), eq(2L), any());
+        verify(bookingSegmentStore, never()).existsApproved(anyLong(), anyLong(), any());
+        assertTrue(result);
     }
 
     @Test
-    void getAllByItemAndEndBeforeDate_emptyList_bookingsDesNotExist() {
-        when(bookingRepository.findByItemIdAndEndIsBefore(anyLong(), any(LocalDateTime.class)))
-                .thenReturn(List.of());
-        List<Booking> result = underTest.getAllByItemAndEndBeforeDate(1L, LocalDateTime.now());
-        verify(bookingRepository, times(1)).findByItemIdAndEndIsBefore(anyLong(), any());
-        assertTrue(result.isEmpty());
+    void hasFinishedBooking_false_bookingsDoNotExist() {
+        when(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(anyLong(), anyLong(),
+                any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(bookingSegmentStore.isEmpty()).thenReturn(true);
+        boolean result = underTest.hasFinishedBooking(1L, 2L, LocalDateTime.now());
+        assertFalse(result);
+    }
+
+    @Test
+    void hasFinishedBooking_true_approvedBookingInArchiveSegment() {
+        when(bookingRepository.existsApprovedByItemIdAndBookerIdAndEndBefore(anyLong(), anyLong(),
+                any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(bookingSegmentStore.isEmpty()).thenReturn(false);
+        when(bookingSegmentStore.existsApproved(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(true);
+
+        assertTrue(underTest.hasFinishedBooking(1L, 2L, LocalDateTime.now()));
     }
 
     @Test
@@ -166,6 +198,7 @@ class BookingServiceImplTest {
                 .start(LocalDateTime.of(2023, 2, 10, 17, 10, 5))
                 .end(LocalDateTime.of(2023, 2, 10, 17, 10, 5).plusDays(15))
                 .build();
+        booking.setStatus(BookingStatus.WAITING);
 
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
@@ -173,9 +206,11 @@ class BookingServiceImplTest {
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
 
-        underTest.createBooking(2L, request);
+        BookingResponse result = underTest.createBooking(2L, request);
 
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(outbox, times(1)).record(AggregateType.BOOKING, booking.getId(), EventType.CREATED, result);
+        verify(availabilityCache, times(1)).evict(item.getId());
     }
 
     @Test
@@ -212,12 +247,14 @@ class BookingServiceImplTest {
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatusByIdIfWaiting(anyLong(), any(BookingStatus.class)))
+                .thenReturn(1);
 
         BookingResponse bookingResponse = underTest.updateStatusById(1L, approved, 1L);
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).updateStatusByIdIfWaiting(anyLong(), eq(BookingStatus.APPROVED));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(outbox, times(1)).record(AggregateType.BOOKING, 1L, EventType.STATUS_CHANGED, bookingResponse);
         assertEquals(BookingStatus.APPROVED, bookingResponse.getStatus());
     }
 
@@ -229,15 +266,121 @@ class BookingServiceImplTest {
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatusByIdIfWaiting(anyLong(), any(BookingStatus.class)))
+                .thenReturn(1);
 
         BookingResponse bookingResponse = underTest.updateStatusById(1L, approved, 1L);
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).updateStatusByIdIfWaiting(anyLong(), eq(BookingStatus.REJECTED));
+        verify(bookingRepository, never()).save(any(Booking.class));
         assertEquals(BookingStatus.REJECTED, bookingResponse.getStatus());
     }
 
+    @Test
+    void updateStatusById_noCorrectRequestException_statusChangedConcurrently() {
+        booking.setStatus(BookingStatus.WAITING);
+
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        when(bookingRepository.updateStatusByIdIfWaiting(anyLong(), any(BookingStatus.class)))
+                .thenReturn(0);
+
+        assertThrows(NoCorrectRequestException.class, () -> underTest.updateStatusById(1L, true, 1L));
+        verify(outbox, never()).record(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateStatusByIds_noValidArgumentException_idsIsEmpty() {
+        assertThrows(NoValidArgumentException.class, () -> underTest.updateStatusByIds(List.of(), true, 1L));
+    }
+
+    @Test
+    void updateStatusByIds_outcomePerBooking_requestIsCorrect() {
+        when(bookingRepository.lockAllByIdIn(anyCollection())).thenReturn(List.of(1L, 2L, 3L));
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection()))
+                .thenReturn(List.of(
+                        ownedBooking(1L, 1L, BookingStatus.WAITING),
+                        ownedBooking(2L, 3L, BookingStatus.WAITING),
+                        ownedBooking(3L, 1L, BookingStatus.REJECTED)));
+
+        List<BookingApprovalResult> result = underTest.updateStatusByIds(List.of(1L, 2L, 3L, 4L, 1L), true, 1L);
+
+        verify(bookingRepository, times(1)).updateStatusByIdInIfWaiting(List.of(1L), BookingStatus.APPROVED);
+        verify(bookingRepository, never()).updateStatusByIdIfWaiting(anyLong(), any(BookingStatus.class));
+        assertEquals(4, result.size());
+        assertEquals(BookingApprovalResult.Outcome.UPDATED, result.get(0).getOutcome());
+        assertEquals(BookingStatus.APPROVED, result.get(0).getStatus());
+        assertEquals(BookingApprovalResult.Outcome.NOT_OWNER, result.get(1).getOutcome());
+        assertEquals(BookingApprovalResult.Outcome.NOT_WAITING, result.get(2).getOutcome());
+        assertEquals(BookingApprovalResult.Outcome.NOT_FOUND, result.get(3).getOutcome());
+    }
+
+    @Test
+    void updateStatusByIds_singleUpdateForAllWaiting_manyBookingsWaiting() {
+        List<Long> ids = LongStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+        when(bookingRepository.lockAllByIdIn(anyCollection())).thenReturn(ids);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection()))
+                .thenReturn(ids.stream()
+                        .map(id -> ownedBooking(id, 1L, BookingStatus.WAITING))
+                        .collect(Collectors.toList()));
+
+        List<BookingApprovalResult> result = underTest.updateStatusByIds(ids, false, 1L);
+
+        verify(bookingRepository, times(1)).updateStatusByIdInIfWaiting(ids, BookingStatus.REJECTED);
+        assertTrue(result.stream().allMatch(r -> r.getOutcome() == BookingApprovalResult.Outcome.UPDATED));
+        verify(outbox, times(100)).record(eq(AggregateType.BOOKING), anyLong(), eq(EventType.STATUS_CHANGED),
+                any(BookingResponse.class));
+    }
+
+    @Test
+    void updateStatusByIds_notFoundWithoutUpdate_noBookingLocked() {
+        List<BookingApprovalResult> result = underTest.updateStatusByIds(List.of(1L), true, 1L);
+
+        assertEquals(BookingApprovalResult.Outcome.NOT_FOUND, result.get(0).getOutcome());
+        verify(bookingRepository, never()).findAllWithItemAndBookerByIdIn(anyCollection());
+        verify(bookingRepository, never()).updateStatusByIdInIfWaiting(anyCollection(), any());
+    }
+
+    @Test
+    void updateStatusByIds_noValidArgumentException_tooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(NoValidArgumentException.class, () -> underTest.updateStatusByIds(ids, true, 1L));
+        verify(bookingRepository, never()).findAllWithItemAndBookerByIdIn(anyCollection());
+    }
+
+    @Test
+    void getBookingsByIds_noValidArgumentException_tooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(NoValidArgumentException.class, () -> underTest.getBookingsByIds(ids, 1L));
+        verify(bookingRepository, never()).findAllWithItemAndBookerByIdIn(anyCollection());
+    }
+
+    @Test
+    void getBookingsByIds_onlyAccessibleBookings_userIsBookerOrOwner() {
+        Booking foreign = Booking.builder()
+                .id(2L)
+                .item(Item.builder().id(2L).owner(User.builder().id(5L).build()).build())
+                .booker(User.builder().id(6L).build())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build();
+        booking.setStatus(BookingStatus.WAITING);
+
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(anyCollection()))
+                .thenReturn(List.of(booking, foreign));
+
+        List<BookingResponse> ownerResults = underTest.getBookingsByIds(List.of(1L, 2L, 3L), 1L);
+        List<BookingResponse> bookerResults = underTest.getBookingsByIds(List.of(1L, 2L, 3L), 2L);
+
+        assertEquals(1, ownerResults.size());
+        assertEquals(1L, ownerResults.get(0).getId());
+        assertEquals(1, bookerResults.size());
+    }
+
     @Test
     void getBookingById_noFoundObjectException_bookingDontExist() {
         when(bookingRepository.findById(anyLong()))
@@ -301,12 +444,10 @@ class BookingServiceImplTest {
         doNothing()
                 .when(userService).checkExistUserById(anyLong());
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
-
         underTest.getBookingsByBookerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findAllByBookerId(1L, pageable);
+                .findHistoryByBookerId(1L, size, page);
     }
 
     @Test
@@ -337,7 +478,7 @@ class BookingServiceImplTest {
         underTest.getBookingsByBookerId(1L, state, from, size);
 
         verify(bookingRepository, atLeast(1))
-                .findByBookerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                .findPastByBookerId(anyLong(), any(LocalDateTime.class), anyInt(), anyLong());
     }
 
     @Test
@@ -367,8 +508,7 @@ class BookingServiceImplTest {
         underTest.getBookingsByBookerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStartIsAfterAndStatusIs(anyLong(), any(LocalDateTime.class),
-                        any(BookingStatus.class), any(Pageable.class));
+                .findHistoryByBookerIdAndStatus(anyLong(), eq(BookingStatus.WAITING.name()), anyInt(), anyLong());
     }
 
     @Test
@@ -383,8 +523,7 @@ class BookingServiceImplTest {
         underTest.getBookingsByBookerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByBookerIdAndStartIsAfterAndStatusIs(anyLong(), any(LocalDateTime.class),
-                        any(BookingStatus.class), any(Pageable.class));
+                .findHistoryByBookerIdAndStatus(anyLong(), eq(BookingStatus.REJECTED.name()), anyInt(), anyLong());
     }
 
     @Test
@@ -420,12 +559,10 @@ class BookingServiceImplTest {
         when(itemRepository.findAllByOwnerId(anyLong(), any()))
                 .thenReturn(new PageImpl<>(List.of(item)));
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
-
         underTest.getBookingsByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findAllByItemIdIn(List.of(item.getId()), pageable);
+                .findHistoryByItemIdIn(List.of(item.getId()), size, page);
     }
 
     @Test
@@ -464,7 +601,7 @@ class BookingServiceImplTest {
         underTest.getBookingsByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndEndIsBefore(anyList(), any(LocalDateTime.class), any(Pageable.class));
+                .findPastByItemIdIn(anyList(), any(LocalDateTime.class), anyInt(), anyLong());
     }
 
     @Test
@@ -502,8 +639,7 @@ class BookingServiceImplTest {
         underTest.getBookingsByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsAfterAndStatusIs(anyList(), any(LocalDateTime.class),
-                        any(BookingStatus.class), any(Pageable.class));
+                .findHistoryByItemIdInAndStatus(anyList(), eq(BookingStatus.WAITING.name()), anyInt(), anyLong());
     }
 
     @Test
@@ -522,7 +658,75 @@ class BookingServiceImplTest {
         underTest.getBookingsByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsAfterAndStatusIs(anyList(), any(LocalDateTime.class),
-                        any(BookingStatus.class), any(Pageable.class));
+                .findHistoryByItemIdInAndStatus(anyList(), eq(BookingStatus.REJECTED.name()), anyInt(), anyLong());
+    }
+
+    private Booking ownedBooking(Long id, Long ownerId, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(id).name("Item").owner(User.builder().id(ownerId).build()).build())
+                .booker(user2)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .status(status)
+                .build();
+    }
+
+    @Test
+    void getAllByBookerId_liveAndArchivedMergedByStart_pageSpansBothSources() {
+        Booking newest = Booking.builder().id(5L).item(item).booker(user2).status(BookingStatus.APPROVED)
+                .start(LocalDateTime.of(2023, 1, 1, 10, 0)).end(LocalDateTime.of(2023, 1, 2, 10, 0)).build();
+        Booking older = Booking.builder().id(6L).item(item).booker(user2).status(BookingStatus.APPROVED)
+                .start(LocalDateTime.of(2019, 1, 1, 10, 0)).end(LocalDateTime.of(2019, 1, 2, 10, 0)).build();
+        when(bookingRepository.findPastByBookerId(anyLong(), any(LocalDateTime.class), anyInt(), anyLong()))
+                .thenReturn(List.of(newest, older));
+        when(bookingSegmentStore.findByBookerId(anyLong(), anyInt())).thenReturn(List.of(
+                archived(5L, 2023), archived(2L, 2020), archived(3L, 2018)));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+
+        List<BookingResponse> result = underTest.getBookingsByBookerId(2L, "PAST", 2, 2);
+
+        verify(bookingRepository, times(1)).findPastByBookerId(eq(2L), any(LocalDateTime.class), eq(4), eq(0L));
+        verify(bookingSegmentStore, times(1)).findByBookerId(2L, 4);
+        assertEquals(List.of(6L, 3L), result.stream().map(BookingResponse::getId).collect(Collectors.toList()));
+        assertEquals("Book", result.get(1).getItem().getName());
+    }
+
+    @Test
+    void getAllByOwnerId_archivedRejectedBookingsIncluded_stateRejected() {
+        when(userService.findUserById(anyLong())).thenReturn(user);
+        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(item)));
+        when(bookingSegmentStore.findByItemIdInAndStatus(anyList(), eq(BookingStatus.REJECTED), anyInt()))
+                .thenReturn(List.of(archived(2L, 2020)));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+
+        List<BookingResponse> result = underTest.getBookingsByOwnerId(1L, "REJECTED", 0, 10);
+
+        verify(bookingRepository, times(1)).findHistoryByItemIdInAndStatus(List.of(item.getId()),
+                BookingStatus.REJECTED.name(), 10, 0L);
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+    }
+
+    private ArchivedBooking archived(Long id, int year) {
+        return new ArchivedBooking(id, LocalDateTime.of(year, 1, 1, 10, 0), LocalDateTime.of(year, 1, 2, 10, 0),
+                1L, 2L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void getBookingById_archivedBookingReturned_bookingOnlyInSegment() {
+        ArchivedBooking archived = new ArchivedBooking(7L, LocalDateTime.of(2020, 1, 1, 10, 0),
+                LocalDateTime.of(2020, 1, 2, 10, 0), 1L, 2L, BookingStatus.APPROVED);
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findArchivedById(anyLong())).thenReturn(Optional.empty());
+        when(bookingSegmentStore.isEmpty()).thenReturn(false);
+        when(itemRepository.findIdsByOwnerId(anyLong())).thenReturn(List.of());
+        when(bookingSegmentStore.findById(eq(7L), eq(2L), anyCollection())).thenReturn(Optional.of(archived));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+
+        BookingResponse result = underTest.getBookingById(7L, 2L);
+
+        assertEquals(7L, result.getId());
+        assertEquals("Book", result.getItem().getName());
     }
-}
\ No newline at end of file
+}
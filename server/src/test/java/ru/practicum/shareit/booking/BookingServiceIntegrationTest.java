@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingApprovalResult;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.exception.NoCorrectRequestException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequest;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceIntegrationTest {
+    private static final int THREADS = 16;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void updateStatusById_onlyOneRequestWins_concurrentApprovalsAndRejections() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@booking.test").build());
+        UserDto booker = userService.createUser(UserDto.builder().name("booker").email("booker@booking.test").build());
+
+        ItemResponse item = itemService.createItem(ItemRequest.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .build(), owner.getId());
+
+        BookingResponse booking = bookingService.createBooking(booker.getId(), BookingRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingResponse>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                boolean approved = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.updateStatusById(booking.getId(), approved, owner.getId());
+                }));
+            }
+            start.countDown();
+
+            List<BookingResponse> winners = new ArrayList<>();
+            int losers = 0;
+            for (Future<BookingResponse> future : futures) {
+                try {
+                    winners.add(future.get());
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(NoCorrectRequestException.class);
+                    losers++;
+                }
+            }
+
+            assertThat(winners).hasSize(1);
+            assertThat(losers).isEqualTo(THREADS - 1);
+            assertThat(bookingService.getBookingById(booking.getId(), owner.getId()).getStatus())
+                    .isEqualTo(winners.get(0).getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void updateStatusByIds_onlyOneRequestUpdates_sameApprovalSentTwice() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@batch.test").build());
+        UserDto booker = userService.createUser(UserDto.builder().name("booker").email("booker@batch.test").build());
+
+        ItemResponse item = itemService.createItem(ItemRequest.builder()
+                .name("Saw")
+                .description("Sharp saw")
+                .available(true)
+                .build(), owner.getId());
+
+        BookingResponse booking = bookingService.createBooking(booker.getId(), BookingRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<BookingApprovalResult>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.updateStatusByIds(List.of(booking.getId()), true, owner.getId());
+                }));
+            }
+            start.countDown();
+
+            List<BookingApprovalResult.Outcome> outcomes = new ArrayList<>();
+            for (Future<List<BookingApprovalResult>> future : futures) {
+                outcomes.add(future.get().get(0).getOutcome());
+            }
+
+            assertThat(outcomes).containsOnlyOnce(BookingApprovalResult.Outcome.UPDATED);
+            assertThat(bookingService.getOwnerCounters(owner.getId()))
+                    .containsEntry(BookingState.WAITING, 0L)
+                    .containsEntry(BookingState.ALL, 1L);
+            assertThat(outboxEventRepository.findAll())
+                    .filteredOn(event -> event.getAggregateType() == AggregateType.BOOKING
+                            && booking.getId().equals(event.getAggregateId())
+                            && event.getEventType() == EventType.STATUS_CHANGED)
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@DataJpaTest
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+@Sql(scripts = "classpath:repository/data.sql", statements = "INSERT INTO bookings_archive " +
+        "(id, start_date, end_date, item_id, booker_id, status) VALUES " +
+        "(100, '2022-01-10T10:00:00', '2022-01-11T10:00:00', 1, 3, 'APPROVED')")
+class BookingSegmentArchiverTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void archiveEndedBefore_oldBookingsMovedToSegments_bookingsEndedBeforeCutoff() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        BookingCounterService bookingCounterService = mock(BookingCounterService.class);
+        BookingSegmentArchiver archiver = new BookingSegmentArchiver(jdbcTemplate, transactionTemplate, store,
+                bookingCounterService, 24, 2);
+
+        int archived = archiver.archiveEndedBefore(LocalDateTime.of(2023, 6, 10, 0, 0));
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(bookingRepository.findAll()).extracting(Booking::getId).containsExactly(3L);
+        assertThat(bookingRepository.findPastByBookerId(3L, LocalDateTime.of(2023, 6, 10, 0, 0), 10, 0)).isEmpty();
+        assertThat(ids(store.findByBookerId(3L, 10))).containsExactly(2L, 1L, 100L);
+
+        ArgumentCaptor<List<BookingShort>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bookingCounterService, times(2)).onDeleted(captor.capture());
+        assertThat(captor.getAllValues().get(0)).extracting(BookingShort::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(captor.getAllValues().get(1)).isEmpty();
+    }
+
+    @Test
+    void archiveEndedBefore_segmentNotPublished_deleteRolledBack() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        BookingCounterService bookingCounterService = mock(BookingCounterService.class);
+        doThrow(new IllegalStateException("Counters are down")).when(bookingCounterService).onDeleted(anyList());
+        BookingSegmentArchiver archiver = new BookingSegmentArchiver(jdbcTemplate, transactionTemplate, store,
+                bookingCounterService, 24, 10);
+
+        assertThatThrownBy(() -> archiver.archiveEndedBefore(LocalDateTime.of(2023, 6, 10, 0, 0)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.isEmpty()).isTrue();
+        assertThat(store.findPrepared()).isEmpty();
+        assertThat(bookingRepository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void archiveEndedBefore_preparedSegmentResolved_previousRunInterrupted() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        LocalDateTime start = LocalDateTime.of(2021, 1, 1, 10, 0);
+        store.prepare(List.of(new ArchivedBooking(50L, start, start.plusDays(1), 1L, 3L, BookingStatus.APPROVED)));
+        store.prepare(List.of(new ArchivedBooking(1L, start, start.plusDays(1), 1L, 3L, BookingStatus.WAITING)));
+        BookingSegmentArchiver archiver = new BookingSegmentArchiver(jdbcTemplate, transactionTemplate, store,
+                mock(BookingCounterService.class), 24, 10);
+
+        archiver.archiveEndedBefore(LocalDateTime.of(2020, 1, 1, 0, 0));
+
+        assertThat(store.findPrepared()).isEmpty();
+        assertThat(ids(store.findByBookerId(3L, 10))).containsExactly(50L);
+    }
+
+    @Test
+    void constructor_illegalArgumentException_batchSizeAboveBindLimit() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+
+        assertThatThrownBy(() -> new BookingSegmentArchiver(jdbcTemplate, transactionTemplate, store,
+                mock(BookingCounterService.class), 24, 40000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> ids(List<ArchivedBooking> bookings) {
+        return bookings.stream().map(ArchivedBooking::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingSegmentStoreTest {
+    private final LocalDateTime base = LocalDateTime.of(2021, 3, 1, 10, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void publish_bookingsReadBackNewestFirst_severalSegments() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        store.publish(store.prepare(List.of(booking(1L, 1, 10L, 100L), booking(2L, 3, 11L, 100L))));
+        store.publish(store.prepare(List.of(booking(3L, 2, 10L, 101L), booking(4L, 5, 12L, 102L))));
+
+        assertEquals(List.of(3L, 1L), ids(store.findByBookerId(10L, 10)));
+        assertEquals(List.of(3L), ids(store.findByBookerId(10L, 1)));
+        assertEquals(3, store.findByItemIdIn(List.of(100L, 101L), 10).size());
+        assertEquals(List.of(4L, 2L), ids(store.findByItemIdIn(List.of(100L, 102L), 2)));
+        assertTrue(store.findByBookerIdAndStatus(10L, BookingStatus.REJECTED, 10).isEmpty());
+        assertEquals(List.of(4L, 2L), ids(store.findByItemIdInAndStatus(List.of(100L, 102L),
+                BookingStatus.APPROVED, 2)));
+    }
+
+    @Test
+    void prepare_bookingsHiddenUntilPublished_segmentPrepared() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        Path prepared = store.prepare(List.of(booking(1L, 1, 10L, 100L)));
+        Path discarded = store.prepare(List.of(booking(2L, 2, 10L, 100L)));
+
+        assertTrue(store.isEmpty());
+        assertEquals(List.of(prepared, discarded), store.findPrepared());
+        assertEquals(List.of(2L), ids(store.readPrepared(discarded)));
+
+        store.discard(discarded);
+        store.publish(prepared);
+
+        assertTrue(store.findPrepared().isEmpty());
+        assertEquals(List.of(1L), ids(store.findByBookerId(10L, 10)));
+        assertEquals(List.of(1L), ids(new BookingSegmentStore(dir.toString(), 2).findByBookerId(10L, 10)));
+    }
+
+    @Test
+    void findByBookerId_decodedSegmentsReused_segmentFilesRemoved() throws Exception {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        store.publish(store.prepare(List.of(booking(1L, 1, 10L, 100L))));
+        store.publish(store.prepare(List.of(booking(2L, 2, 10L, 101L))));
+        assertEquals(List.of(2L, 1L), ids(store.findByBookerId(10L, 10)));
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+
+        assertEquals(List.of(2L, 1L), ids(store.findByBookerId(10L, 10)));
+    }
+
+    @Test
+    void findById_onlyBookerOrOwnerSeesBooking_bookingArchived() {
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        store.publish(store.prepare(List.of(booking(1L, 1, 10L, 100L), booking(2L, 3, 11L, 101L))));
+
+        assertEquals(1L, store.findById(1L, 10L, List.of()).orElseThrow().getId());
+        assertEquals(2L, store.findById(2L, 99L, List.of(101L)).orElseThrow().getId());
+        assertTrue(store.findById(1L, 11L, List.of(101L)).isEmpty());
+        assertTrue(store.existsApproved(100L, 10L, base.plusDays(3)));
+        assertFalse(store.existsApproved(100L, 10L, base.plusDays(1)));
+        assertFalse(store.existsApproved(101L, 10L, base.plusDays(10)));
+    }
+
+    @Test
+    void load_segmentsReopenedWithAllColumns_storeRestarted() {
+        LocalDateTime start = base.withNano(123_456_000);
+        BookingSegmentStore store = new BookingSegmentStore(dir.toString(), 2);
+        store.publish(store.prepare(List.of(new ArchivedBooking(7L, start, start.plusHours(5), 70L, 20L,
+                BookingStatus.REJECTED))));
+
+        BookingSegmentStore reopened = new BookingSegmentStore(dir.toString(), 2);
+        ArchivedBooking booking = reopened.findByBookerId(20L, 10).get(0);
+
+        assertFalse(reopened.isEmpty());
+        assertEquals(7L, booking.getId());
+        assertEquals(start, booking.getStart());
+        assertEquals(start.plusHours(5), booking.getEnd());
+        assertEquals(70L, booking.getItemId());
+        assertEquals(BookingStatus.REJECTED, booking.getStatus());
+    }
+
+    @Test
+    void open_segmentSkippedByIndex_bookerNotInSegment() throws Exception {
+        BookingSegment segment = BookingSegment.write(dir.resolve("one.seg"),
+                List.of(booking(1L, 1, 10L, 100L), booking(2L, 2, 30L, 300L)));
+
+        BookingSegment opened = BookingSegment.open(segment.getPath());
+
+        assertEquals(2, opened.size());
+        assertTrue(opened.mayContainBooker(30L));
+        assertFalse(opened.mayContainBooker(20L));
+        assertTrue(opened.mayContainAnyItem(List.of(5L, 300L)));
+        assertFalse(opened.mayContainAnyItem(List.of(200L)));
+    }
+
+    private ArchivedBooking booking(Long id, int day, Long bookerId, Long itemId) {
+        return new ArchivedBooking(id, base.plusDays(day), base.plusDays(day + 1), itemId, bookerId,
+                BookingStatus.APPROVED);
+    }
+
+    private List<Long> ids(List<ArchivedBooking> bookings) {
+        return bookings.stream().map(ArchivedBooking::getId).collect(Collectors.toList());
+    }
+}
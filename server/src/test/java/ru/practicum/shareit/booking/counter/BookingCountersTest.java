@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingCountersTest {
+    BookingCounters counters;
+
+    LocalDateTime now;
+
+    @BeforeEach
+    void prepare() {
+        counters = new BookingCounters();
+        now = LocalDateTime.of(2023, 6, 10, 12, 0);
+    }
+
+    @Test
+    void rebuild_correctCounters_bookingsInAllTimeBuckets() {
+        counters.rebuild(() -> List.of(
+                booking(1L, now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED),
+                booking(2L, now.minusDays(1), now.plusDays(1), BookingStatus.WAITING),
+                booking(3L, now.plusDays(1), now.plusDays(2), BookingStatus.REJECTED)), () -> now);
+
+        Map<BookingState, Long> booker = counters.getByBookerId(2L);
+        Map<BookingState, Long> owner = counters.getByOwnerId(1L);
+
+        assertEquals(3L, booker.get(BookingState.ALL));
+        assertEquals(1L, booker.get(BookingState.PAST));
+        assertEquals(1L, booker.get(BookingState.CURRENT));
+        assertEquals(1L, booker.get(BookingState.FUTURE));
+        assertEquals(1L, booker.get(BookingState.WAITING));
+        assertEquals(1L, booker.get(BookingState.REJECTED));
+        assertEquals(booker, owner);
+    }
+
+    @Test
+    void changeStatus_waitingMovedToRejected_bookingRejected() {
+        BookingShort booking = booking(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        counters.add(booking, BookingState.FUTURE);
+
+        counters.changeStatus(booking, BookingStatus.WAITING, BookingStatus.REJECTED);
+
+        assertEquals(0L, counters.getByBookerId(2L).get(BookingState.WAITING));
+        assertEquals(1L, counters.getByBookerId(2L).get(BookingState.REJECTED));
+    }
+
+    @Test
+    void move_futureMovedToCurrent_bookingStarted() {
+        BookingShort booking = booking(1L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        counters.add(booking, BookingState.FUTURE);
+
+        counters.move(booking, BookingState.FUTURE, BookingState.CURRENT);
+
+        assertEquals(0L, counters.getByOwnerId(1L).get(BookingState.FUTURE));
+        assertEquals(1L, counters.getByOwnerId(1L).get(BookingState.CURRENT));
+    }
+
+    @Test
+    void rebuild_deltasAppliedOnce_deltasArriveDuringAndAfterSnapshot() {
+        BookingShort approved = booking(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        BookingShort created = booking(2L, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING);
+        counters.add(approved, BookingState.FUTURE);
+
+        counters.rebuild(() -> {
+            counters.changeStatus(approved, BookingStatus.WAITING, BookingStatus.APPROVED);
+            counters.add(created, BookingState.FUTURE);
+            return List.of(booking(1L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED));
+        }, () -> now);
+        counters.changeStatus(approved, BookingStatus.WAITING, BookingStatus.APPROVED);
+        counters.add(created, BookingState.FUTURE);
+
+        Map<BookingState, Long> owner = counters.getByOwnerId(1L);
+        assertEquals(2L, owner.get(BookingState.ALL));
+        assertEquals(2L, owner.get(BookingState.FUTURE));
+        assertEquals(1L, owner.get(BookingState.WAITING));
+    }
+
+    @Test
+    void rebuild_previousCountersVisible_snapshotIsLoading() {
+        counters.add(booking(1L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING), BookingState.FUTURE);
+
+        counters.rebuild(() -> {
+            assertEquals(1L, counters.getByBookerId(2L).get(BookingState.ALL));
+            return List.of();
+        }, () -> now);
+
+        assertEquals(0L, counters.getByBookerId(2L).get(BookingState.ALL));
+    }
+
+    @Test
+    void remove_countersDecrementedOnce_bookingDeletedTwice() {
+        BookingShort booking = booking(1L, now.minusDays(1), now.plusDays(1), BookingStatus.WAITING);
+        counters.add(booking, BookingState.CURRENT);
+
+        counters.remove(booking);
+        counters.remove(booking);
+
+        Map<BookingState, Long> booker = counters.getByBookerId(2L);
+        assertEquals(0L, booker.get(BookingState.ALL));
+        assertEquals(0L, booker.get(BookingState.CURRENT));
+        assertEquals(0L, booker.get(BookingState.WAITING));
+    }
+
+    @Test
+    void getByBookerId_zeroCounters_userHasNoBookings() {
+        Map<BookingState, Long> result = counters.getByBookerId(100L);
+
+        assertEquals(BookingState.values().length, result.size());
+        assertEquals(0L, result.get(BookingState.ALL));
+    }
+
+    private BookingShort booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new BookingShort(id, 2L, 1L, 1L, start, end, status);
+    }
+}
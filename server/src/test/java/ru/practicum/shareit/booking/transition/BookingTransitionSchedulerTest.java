@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.transition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BookingTransitionSchedulerTest {
+    BookingRepository bookingRepository;
+
+    ApplicationEventPublisher eventPublisher;
+
+    BookingTransitionScheduler underTest;
+
+    BookingShort booking;
+
+    @BeforeEach
+    void prepare() {
+        bookingRepository = mock(BookingRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        underTest = new BookingTransitionScheduler(bookingRepository, eventPublisher);
+        ReflectionTestUtils.setField(underTest, "horizonMs", 86400000L);
+
+        booking = new BookingShort(1L, 2L, 1L, 1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                BookingStatus.APPROVED);
+    }
+
+    @Test
+    void tick_emitStartAndEnd_bookingLoadedOnStart() {
+        when(bookingRepository.findAllShortByStartBetween(any(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findAllShortByEndBetween(any(), any())).thenReturn(List.of(booking));
+        underTest.start();
+
+        underTest.tick(LocalDateTime.now().plusMinutes(90));
+        underTest.tick(LocalDateTime.now().plusHours(3));
+
+        ArgumentCaptor<BookingTransition> captor = ArgumentCaptor.forClass(BookingTransition.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(BookingState.FUTURE, captor.getAllValues().get(0).getFrom());
+        assertEquals(BookingState.CURRENT, captor.getAllValues().get(0).getTo());
+        assertEquals(BookingState.CURRENT, captor.getAllValues().get(1).getFrom());
+        assertEquals(BookingState.PAST, captor.getAllValues().get(1).getTo());
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    void register_emitRegistrationAndScheduleOnce_bookingAlreadyLoaded() {
+        when(bookingRepository.findAllShortByStartBetween(any(), any())).thenReturn(List.of(booking));
+        underTest.start();
+
+        underTest.register(booking);
+
+        ArgumentCaptor<BookingTransition> captor = ArgumentCaptor.forClass(BookingTransition.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertNull(captor.getValue().getFrom());
+        assertEquals(BookingState.FUTURE, captor.getValue().getTo());
+        assertEquals(2, underTest.size());
+    }
+
+    @Test
+    void tick_noEvents_transitionsNotDue() {
+        when(bookingRepository.findAllShortByStartBetween(any(), any())).thenReturn(List.of(booking));
+        underTest.start();
+
+        underTest.tick(LocalDateTime.now());
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    void cancel_noEvents_bookingDeleted() {
+        when(bookingRepository.findAllShortByStartBetween(any(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findAllShortByEndBetween(any(), any())).thenReturn(List.of(booking));
+        underTest.start();
+
+        underTest.cancel(List.of(booking));
+        underTest.tick(LocalDateTime.now().plusHours(3));
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(0, underTest.size());
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void message_onlyFilledFieldsSerialized_messageResponse() throws Exception {
+        String json = mapper.writeValueAsString(ErrorResponse.message(HttpStatus.NOT_FOUND, "User not found"));
+
+        assertThat(json).startsWith("{\"timestamp\":")
+                .contains("\"status\":\"NOT_FOUND\"", "\"message\":\"User not found\"")
+                .doesNotContain("\"error\"", "\"errors\"");
+    }
+
+    @Test
+    void stacklessException_emptyStackTrace_exceptionCreated() {
+        assertThat(new NoFoundObjectException("not found").getStackTrace()).isEmpty();
+    }
+}
@@ -11,15 +11,18 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.item.availability.AvailabilitySlot;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.comment.CommentRequest;
 import ru.practicum.shareit.item.comment.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemRequest;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.search.ItemSuggestion;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -41,7 +44,7 @@ class ItemControllerTest {
 
     @Test
     void getAllItemsByUserId_statusOk_ifUserExistAndItemsDontExist() throws Exception {
-        when(itemService.getAllItemsByUserId(anyLong(), any()))
+        when(itemService.getAllItemsByUserId(anyLong(), any(), anyBoolean()))
                 .thenReturn(List.of());
 
         mvc.perform(MockMvcRequestBuilders.get("/items")
@@ -55,7 +58,7 @@ class ItemControllerTest {
     void getAllItemsByUserId_statusNotFound_ifUserDontExist() throws Exception {
         doThrow(NoFoundObjectException.class)
                 .when(itemService)
-                .getAllItemsByUserId(anyLong(), any());
+                .getAllItemsByUserId(anyLong(), any(), anyBoolean());
 
         mvc.perform(MockMvcRequestBuilders.get("/items")
                         .header(userIdHeader, 1))
@@ -267,4 +270,108 @@ class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isForbidden())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").doesNotExist());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemsByIds_statusIsOk_idsParamPresent() throws Exception {
+        ItemResponse itemResponse = ItemResponse.builder()
+                .id(1L)
+                .name("Book")
+                .description("Good old book")
+                .build();
+
+        when(itemService.getItemsByIds(anyList(), anyLong()))
+                .thenReturn(List.of(itemResponse));
+
+        mvc.perform(MockMvcRequestBuilders.get("/items")
+                        .header(userIdHeader, 1)
+                        .param("ids", "1,2"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1));
+
+        verify(itemService, times(1)).getItemsByIds(eq(List.of(1L, 2L)), eq(1L));
+        verify(itemService, never()).getAllItemsByUserId(anyLong(), any(), anyBoolean());
+    }
+
+    @Test
+    void getComments_statusIsOk_beforeAndSizePresent() throws Exception {
+        when(itemService.getCommentsByItemId(anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of(CommentResponse.builder().id(3L).text("good").authorName("Mike").build()));
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/1/comments")
+                        .param("before", "10")
+                        .param("size", "5"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(3));
+
+        verify(itemService, times(1)).getCommentsByItemId(1L, 10L, 5);
+    }
+
+    @Test
+    void getAvailability_statusIsOk_fromAndToPresent() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 6, 10, 10, 0);
+        when(itemService.getAvailability(anyLong(), any(), any()))
+                .thenReturn(ItemAvailability.builder()
+                        .itemId(1L)
+                        .from(from)
+                        .to(to)
+                        .free(List.of(new AvailabilitySlot(from, to)))
+                        .build());
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/1/availability")
+                        .param("from", "2023-06-01T10:00:00")
+                        .param("to", "2023-06-10T10:00:00"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.itemId").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free[0].start").value("2023-06-01T10:00:00"));
+
+        verify(itemService, times(1)).getAvailability(1L, from, to);
+    }
+
+    @Test
+    void searchByText_availableItemsSearched_windowPresent() throws Exception {
+        when(itemService.searchAvailableItemsByText(anyString(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/search")
+                        .param("text", "drill")
+                        .param("availableFrom", "2023-07-01T10:00:00")
+                        .param("availableTo", "2023-07-03T10:00:00")
+                        .param("from", "10")
+                        .param("size", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        verify(itemService, times(1)).searchAvailableItemsByText("drill", LocalDateTime.of(2023, 7, 1, 10, 0),
+                LocalDateTime.of(2023, 7, 3, 10, 0), 10, 5);
+        verify(itemService, never()).searchItemByText(anyString());
+    }
+
+    @Test
+    void suggest_suggestionsReturned_prefixPresent() throws Exception {
+        when(itemService.suggestItems(anyString(), anyInt()))
+                .thenReturn(List.of(new ItemSuggestion(1L, "Drill")));
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/search/suggest")
+                        .param("prefix", "dri"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Drill"));
+
+        verify(itemService, times(1)).suggestItems("dri", 10);
+    }
+
+    @Test
+    void searchByText_nearbyItemsSearched_coordinatesPresent() throws Exception {
+        when(itemService.searchItemsNearby(any(), anyDouble(), anyDouble(), anyDouble(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/search")
+                        .param("lat", "55.75")
+                        .param("lon", "37.61")
+                        .param("radiusKm", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        verify(itemService, times(1)).searchItemsNearby(null, 55.75, 37.61, 5, 0, 10);
+    }
+}
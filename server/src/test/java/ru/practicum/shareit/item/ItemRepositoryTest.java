@@ -7,14 +7,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
 
 @DataJpaTest
@@ -33,6 +35,17 @@ class ItemRepositoryTest {
         assertThat(results.get(0).getOwner().getId()).isEqualTo(1L);
     }
 
+    @Test
+    void findByText_onlyAvailableItems_unavailableItemMatchesByName() {
+        Item item = itemRepository.findById(3L).orElseThrow();
+        item.setAvailable(false);
+        itemRepository.save(item);
+
+        List<Item> results = itemRepository.findByText("TV BOX");
+
+        assertThat(results).extracting(Item::getName).containsExactly("TV box");
+    }
+
     @Test
     void findAllByOwnerId_notEmptyList_ItemsExist() {
         Page<Item> page = itemRepository.findAllByOwnerId(1L, PageRequest.of(0, 20));
@@ -44,21 +57,23 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findAllByRequestIdIn_notEmptyList_ItemsExist() {
-        List<Item> results = itemRepository.findAllByRequestIdIn(Set.of(1L));
+    void findAllDtoByRequestIdIn_allAnsweringItems_severalItemsAnswerRequest() {
+        List<ItemDto> results = itemRepository.findAllDtoByRequestIdIn(Set.of(1L, 2L));
 
-        assertFalse(results.isEmpty());
-        assertThat(results.get(0).getName()).isEqualTo("TV box");
-        assertThat(results.get(0).getOwner().getId()).isEqualTo(2L);
+        assertThat(results.stream().map(ItemDto::getName).collect(Collectors.toList()))
+                .containsExactly("TV box", "Old tv box");
+        assertThat(results.get(0).getOwner()).isEqualTo(2L);
+        assertThat(results.get(0).getRequestId()).isEqualTo(1L);
     }
 
     @Test
-    void findByRequestId_notEmptyList_ItemExist() {
-        Item result = itemRepository.findByRequestId(1L);
+    void findAvailableByText_itemsWithoutOverlappingApprovedBookings_windowGiven() {
+        List<Item> busy = itemRepository.findAvailableByText("book",
+                LocalDateTime.of(2023, 6, 20, 12, 0), LocalDateTime.of(2023, 6, 20, 14, 0), PageRequest.of(0, 10));
+        List<Item> free = itemRepository.findAvailableByText("book",
+                LocalDateTime.of(2023, 6, 1, 12, 0), LocalDateTime.of(2023, 6, 2, 12, 0), PageRequest.of(0, 10));
 
-        assertNotNull(result);
-        assertThat(result.getName()).isEqualTo("TV box");
-        assertThat(result.getOwner().getId()).isEqualTo(2L);
+        assertTrue(busy.isEmpty());
+        assertThat(free).extracting(Item::getName).containsExactly("Book");
     }
-
-}
\ No newline at end of file
+}
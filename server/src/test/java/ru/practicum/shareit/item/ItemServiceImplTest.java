@@ -7,30 +7,48 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRequest;
 import ru.practicum.shareit.item.comment.CommentService;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemRequest;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -53,6 +71,9 @@ class ItemServiceImplTest {
     @MockBean
     ItemRequestRepository itemRequestRepository;
 
+    @MockBean
+    Outbox outbox;
+
     User user1;
     User user2;
     User user3;
@@ -116,9 +137,10 @@ class ItemServiceImplTest {
         when(userService.findUserById(anyLong())).thenReturn(user1);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
-        underTest.createItem(request, 1L);
+        ItemResponse result = underTest.createItem(request, 1L);
 
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(outbox, times(1)).record(AggregateType.ITEM, item.getId(), EventType.CREATED, result);
     }
 
     @Test
@@ -195,7 +217,7 @@ class ItemServiceImplTest {
         when(bookingService.getAllByItemId(anyLong()))
                 .thenReturn(List.of(bookingUser2));
 
-        when(commentService.getAllCommentsByItemId(anyLong()))
+        when(commentService.getLatestCommentsByItemId(anyLong()))
                 .thenReturn(CommentMapper.objectsToDto(List.of(comment)));
 
         underTest.getItemById(1L, 1L);
@@ -211,7 +233,7 @@ class ItemServiceImplTest {
         when(bookingService.getAllByItemId(anyLong()))
                 .thenReturn(List.of(bookingUser2, bookingUser3));
 
-        when(commentService.getAllCommentsByItemId(anyLong()))
+        when(commentService.getLatestCommentsByItemId(anyLong()))
                 .thenReturn(CommentMapper.objectsToDto(List.of(comment)));
 
         ItemResponse result = underTest.getItemById(1L, 1L);
@@ -221,6 +243,68 @@ class ItemServiceImplTest {
         assertEquals(bookingUser3.getBooker().getId(), result.getNextBooking().getBookerId());
     }
 
+    @Test
+    void getItemById_separateResponses_ownerAndOtherUserShareLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(anyLong()))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(item);
+                });
+
+        when(bookingService.getAllByItemId(anyLong()))
+                .thenReturn(List.of(bookingUser2, bookingUser3));
+
+        when(commentService.getLatestCommentsByItemId(anyLong()))
+                .thenReturn(CommentMapper.objectsToDto(List.of(comment)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ItemResponse> ownerResult = executor.submit(() -> underTest.getItemById(1L, user1.getId()));
+            verify(itemRepository, timeout(5000)).findById(anyLong());
+            Future<ItemResponse> otherResult = executor.submit(() -> underTest.getItemById(1L, user1.getId() + 100));
+            Thread.sleep(100);
+            release.countDown();
+
+            ItemResponse forOwner = ownerResult.get(5, TimeUnit.SECONDS);
+            ItemResponse forOther = otherResult.get(5, TimeUnit.SECONDS);
+
+            verify(itemRepository, times(1)).findById(anyLong());
+            assertNotSame(forOwner, forOther);
+            assertNotNull(forOwner.getNextBooking());
+            assertNull(forOther.getLastBooking());
+            assertNull(forOther.getNextBooking());
+            assertEquals(forOwner.getName(), forOther.getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getAllItemsByUserId_itemsWithComments_commentsRequested() {
+        when(itemRepository.findAllByOwnerId(anyLong(), any()))
+                .thenReturn(new PageImpl<>(List.of(item)));
+
+        when(commentService.getLatestCommentsByItemIdIn(anyCollection()))
+                .thenReturn(Map.of(1L, List.of(CommentMapper.dtoToObject(comment))));
+
+        List<ItemResponse> results = underTest.getAllItemsByUserId(1L, PageRequest.of(0, 20), true);
+
+        verify(commentService, times(1)).getLatestCommentsByItemIdIn(List.of(1L));
+        assertEquals(1, results.get(0).getComments().size());
+    }
+
+    @Test
+    void getAllItemsByUserId_itemsWithoutComments_commentsNotRequested() {
+        when(itemRepository.findAllByOwnerId(anyLong(), any()))
+                .thenReturn(new PageImpl<>(List.of(item)));
+
+        List<ItemResponse> results = underTest.getAllItemsByUserId(1L, PageRequest.of(0, 20), false);
+
+        verify(commentService, never()).getLatestCommentsByItemIdIn(anyCollection());
+        assertNull(results.get(0).getComments());
+    }
+
     @Test
     void updateItemById_notFoundObjectException_itemNotExist() {
         ItemRequest request = ItemRequest.builder()
@@ -274,7 +358,7 @@ class ItemServiceImplTest {
         doThrow(NoFoundObjectException.class)
                 .when(userService).checkExistUserById(anyLong());
 
-        assertThrows(NoFoundObjectException.class, () -> underTest.getAllItemsByUserId(1L, PageRequest.of(0, 20)));
+        assertThrows(NoFoundObjectException.class, () -> underTest.getAllItemsByUserId(1L, PageRequest.of(0, 20), false));
     }
 
     @Test
@@ -289,7 +373,7 @@ class ItemServiceImplTest {
         when(bookingService.getAllByItemId(anyLong()))
                 .thenReturn(List.of(bookingUser2));
 
-        underTest.getAllItemsByUserId(1L, PageRequest.of(0, 20));
+        underTest.getAllItemsByUserId(1L, PageRequest.of(0, 20), false);
 
         verify(itemRepository, times(1)).findAllByOwnerId(anyLong(), any());
     }
@@ -360,8 +444,8 @@ class ItemServiceImplTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingService.getAllByItemAndEndBeforeDate(anyLong(), any()))
-                .thenReturn(List.of());
+        when(bookingService.hasFinishedBooking(anyLong(), anyLong(), any()))
+                .thenReturn(false);
 
         assertThrows(NoCorrectRequestException.class, () -> underTest.createComment(request, 2L, 2L));
     }
@@ -378,8 +462,8 @@ class ItemServiceImplTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingService.getAllByItemAndEndBeforeDate(anyLong(), any()))
-                .thenReturn(List.of(bookingUser2));
+        when(bookingService.hasFinishedBooking(anyLong(), anyLong(), any()))
+                .thenReturn(true);
 
         when(commentService.createComment(any(Comment.class)))
                 .thenReturn(comment);
@@ -390,20 +474,172 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void getAllByRequestIds_emptyList_requestsDontExist() {
-        when(itemRepository.findAllByRequestIdIn(any()))
-                .thenReturn(List.of());
+    void getItemsByRequestIds_groupedByRequest_severalItemsAnswerRequest() {
+        when(itemRepository.findAllDtoByRequestIdIn(any()))
+                .thenReturn(List.of(new ItemDto(1L, 1L, "Book", "Good old book", true, 11L),
+                        new ItemDto(2L, 1L, "Old book", "Very old book", true, 11L)));
+
+        Map<Long, List<ItemDto>> result = underTest.getItemsByRequestIds(Set.of(11L, 22L));
+
+        verify(itemRepository, times(1)).findAllDtoByRequestIdIn(any());
+        assertEquals(Set.of(11L), result.keySet());
+        assertEquals(2, result.get(11L).size());
+    }
+
+    @Test
+    void getItemsByRequestIds_emptyMap_noRequestIds() {
+        Map<Long, List<ItemDto>> result = underTest.getItemsByRequestIds(List.of());
+
+        verify(itemRepository, never()).findAllDtoByRequestIdIn(any());
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getItemsByIds_noValidArgumentException_tooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(NoValidArgumentException.class, () -> underTest.getItemsByIds(ids, 1L));
+        verify(itemRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void getItemsByIds_itemsWithBookingsAndComments_ownerRequestsExistingAndMissingItems() {
+        when(itemRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(item));
+        when(bookingService.getAllByItemIdIn(anyList()))
+                .thenReturn(List.of(bookingUser2, bookingUser3));
+        when(commentService.getLatestCommentsByItemIdIn(anyCollection()))
+                .thenReturn(Map.of(1L, List.of(CommentMapper.dtoToObject(comment))));
+
+        List<ItemResponse> results = underTest.getItemsByIds(List.of(5L, 1L, 1L), 1L);
+
+        verify(itemRepository, times(1)).findAllById(anyCollection());
+        verify(bookingService, times(1)).getAllByItemIdIn(anyList());
+        assertEquals(1, results.size());
+        assertNotNull(results.get(0).getLastBooking());
+        assertNotNull(results.get(0).getNextBooking());
+        assertEquals(1, results.get(0).getComments().size());
+    }
+
+    @Test
+    void getItemsByIds_itemsWithoutBookings_userIsNotOwner() {
+        when(itemRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(item));
 
-        underTest.getAllByRequestIds(Set.of(11L, 22L));
+        List<ItemResponse> results = underTest.getItemsByIds(List.of(1L), 2L);
 
-        verify(itemRepository, times(1)).findAllByRequestIdIn(any());
+        verify(bookingService, never()).getAllByItemIdIn(anyList());
+        assertEquals(1, results.size());
+        assertNull(results.get(0).getLastBooking());
+        assertTrue(results.get(0).getComments().isEmpty());
     }
 
     @Test
-    void getItemByRequestId_nullResult_requestDontExist() {
-        underTest.getItemByRequestId(11L);
+    void getAvailability_freeSlotsCached_itemHasBookings() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 0, 0);
+        when(itemRepository.existsById(77L)).thenReturn(true);
+        when(bookingService.getBusyPeriodsByItemId(77L))
+                .thenReturn(List.of(new BookingPeriod(from.plusDays(2), from.plusDays(4))));
+
+        ItemAvailability first = underTest.getAvailability(77L, from, from.plusDays(10));
+        ItemAvailability second = underTest.getAvailability(77L, from, from.plusDays(3));
+
+        verify(bookingService, times(1)).getBusyPeriodsByItemId(77L);
+        assertEquals(2, first.getFree().size());
+        assertEquals(from.plusDays(4), first.getFree().get(1).getStart());
+        assertEquals(1, second.getFree().size());
+    }
+
+    @Test
+    void getAvailability_noFoundObjectException_itemDoesNotExist() {
+        when(itemRepository.existsById(anyLong())).thenReturn(false);
 
-        verify(itemRepository, times(1)).findByRequestId(anyLong());
+        LocalDateTime from = LocalDateTime.now();
+        assertThrows(NoFoundObjectException.class, () -> underTest.getAvailability(78L, from, from.plusDays(1)));
+    }
+
+    @Test
+    void getAvailability_noValidArgumentException_toIsBeforeFrom() {
+        LocalDateTime from = LocalDateTime.now();
+        assertThrows(NoValidArgumentException.class, () -> underTest.getAvailability(1L, from, from.minusDays(1)));
     }
 
-}
\ No newline at end of file
+    @Test
+    void searchAvailableItemsByText_pagedQuery_windowIsCorrect() {
+        LocalDateTime start = LocalDateTime.of(2023, 7, 1, 10, 0);
+        when(itemRepository.findAvailableByText(anyString(), any(), any(), any()))
+                .thenReturn(List.of(item));
+
+        List<ItemResponse> result = underTest.searchAvailableItemsByText("book", start, start.plusDays(2), 20, 10);
+
+        verify(itemRepository, times(1)).findAvailableByText("book", start, start.plusDays(2),
+                PageRequest.of(2, 10, Sort.by("id")));
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void searchAvailableItemsByText_noValidArgumentException_windowIsIncomplete() {
+        LocalDateTime start = LocalDateTime.of(2023, 7, 1, 10, 0);
+
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.searchAvailableItemsByText("book", start, null, 0, 10));
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.searchAvailableItemsByText("book", start, start, 0, 10));
+    }
+
+    @Test
+    void suggestItems_createdItemSuggested_itemCreatedWithTypoInPrefix() {
+        Item drill = Item.builder().id(42L).name("Hammer drill").description("Drill").owner(user1).available(true)
+                .build();
+        when(userService.findUserById(anyLong())).thenReturn(user1);
+        when(itemRepository.save(any(Item.class))).thenReturn(drill);
+
+        underTest.createItem(ItemRequest.builder().name("Hammer drill").description("Drill").available(true).build(),
+                1L);
+
+        assertEquals(42L, underTest.suggestItems("hamer", 5).get(0).getId());
+        assertTrue(underTest.suggestItems(" ", 5).isEmpty());
+    }
+
+    @Test
+    void suggestItems_noValidArgumentException_sizeIsNotPositive() {
+        assertThrows(NoValidArgumentException.class, () -> underTest.suggestItems("dri", 0));
+    }
+
+    @Test
+    void searchItemsNearby_nearestItemsFirst_itemsCreatedWithCoordinates() {
+        Item far = Item.builder().id(51L).name("Tent").description("Big tent").owner(user1).available(true)
+                .latitude(55.80).longitude(37.70).build();
+        Item near = Item.builder().id(52L).name("Tent").description("Small tent").owner(user1).available(true)
+                .latitude(55.76).longitude(37.62).build();
+        when(userService.findUserById(anyLong())).thenReturn(user1);
+        when(itemRepository.save(any(Item.class))).thenReturn(far, near);
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of(far, near));
+
+        underTest.createItem(ItemRequest.builder().name("Tent").description("Big tent").available(true)
+                .latitude(55.80).longitude(37.70).build(), 1L);
+        underTest.createItem(ItemRequest.builder().name("Tent").description("Small tent").available(true)
+                .latitude(55.76).longitude(37.62).build(), 1L);
+
+        List<ItemResponse> result = underTest.searchItemsNearby("tent", 55.7558, 37.6173, 10, 0, 10);
+
+        assertEquals(List.of(52L, 51L), List.of(result.get(0).getId(), result.get(1).getId()));
+        verify(itemRepository, times(1)).findAllById(List.of(52L, 51L));
+    }
+
+    @Test
+    void searchItemsNearby_noValidArgumentException_radiusIsInvalid() {
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.searchItemsNearby(null, 55.7558, 37.6173, 0, 0, 10));
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.searchItemsNearby(null, 95, 37.6173, 10, 0, 10));
+    }
+
+    @Test
+    void createItem_noValidArgumentException_onlyLatitudeGiven() {
+        ItemRequest request = ItemRequest.builder().name("Tent").description("Tent").available(true)
+                .latitude(55.76).build();
+
+        assertThrows(NoValidArgumentException.class, () -> underTest.createItem(request, 1L));
+    }
+}
@@ -52,7 +52,7 @@ class ItemServiceIntegrationTest {
 
         itemService.createItem(itemRequest, user2.getId());
 
-        List<ItemResponse> results = itemService.getAllItemsByUserId(user1.getId(), PageRequest.of(0, 20));
+        List<ItemResponse> results = itemService.getAllItemsByUserId(user1.getId(), PageRequest.of(0, 20), false);
 
         assertThat(results).hasSize(2);
     }
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusyIntervalsTest {
+    private final LocalDateTime base = LocalDateTime.of(2023, 6, 1, 0, 0);
+
+    @Test
+    void merge_overlappingAndAdjacentPeriodsJoined_unsortedPeriods() {
+        BusyIntervals busy = BusyIntervals.merge(List.of(
+                period(10, 12),
+                period(1, 3),
+                period(2, 5),
+                period(5, 6),
+                period(11, 11)));
+
+        assertEquals(2, busy.size());
+    }
+
+    @Test
+    void freeBetween_gapsBetweenBusyIntervals_rangeCutsIntervals() {
+        BusyIntervals busy = BusyIntervals.merge(List.of(period(1, 3), period(5, 6), period(10, 12)));
+
+        List<AvailabilitySlot> free = busy.freeBetween(day(2), day(11));
+
+        assertEquals(2, free.size());
+        assertEquals(day(3), free.get(0).getStart());
+        assertEquals(day(5), free.get(0).getEnd());
+        assertEquals(day(6), free.get(1).getStart());
+        assertEquals(day(10), free.get(1).getEnd());
+    }
+
+    @Test
+    void freeBetween_wholeRange_noBusyIntervalsInRange() {
+        BusyIntervals busy = BusyIntervals.merge(List.of(period(1, 3), period(20, 21)));
+
+        List<AvailabilitySlot> free = busy.freeBetween(day(5), day(10));
+
+        assertEquals(1, free.size());
+        assertEquals(day(5), free.get(0).getStart());
+        assertEquals(day(10), free.get(0).getEnd());
+    }
+
+    @Test
+    void freeBetween_emptyList_rangeIsBusy() {
+        BusyIntervals busy = BusyIntervals.merge(List.of(period(1, 30)));
+
+        assertTrue(busy.freeBetween(day(5), day(10)).isEmpty());
+    }
+
+    private BookingPeriod period(int startDay, int endDay) {
+        return new BookingPeriod(day(startDay), day(endDay));
+    }
+
+    private LocalDateTime day(int day) {
+        return base.plusDays(day);
+    }
+}
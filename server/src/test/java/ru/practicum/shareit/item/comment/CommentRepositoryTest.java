@@ -3,10 +3,12 @@ package ru.practicum.shareit.item.comment;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -28,4 +30,29 @@ class CommentRepositoryTest {
         assertThat(results.get(0).getText()).isEqualTo("super interesting good book");
         assertThat(results.get(0).getAuthor().getId()).isEqualTo(3L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByItemIdAndIdLessThanOrderByIdDesc_olderCommentsNewestFirst_beforeIsNewestComment() {
+        List<Comment> latest = commentRepository.findAllByItemIdOrderByIdDesc(2L, PageRequest.of(0, 1));
+        assertThat(latest).hasSize(1);
+        assertThat(latest.get(0).getText()).isEqualTo("third tv box comment");
+
+        List<Comment> results = commentRepository.findAllByItemIdAndIdLessThanOrderByIdDesc(2L,
+                latest.get(0).getId(), PageRequest.of(0, 10));
+
+        assertThat(results.stream().map(Comment::getText).collect(Collectors.toList()))
+                .containsExactly("second tv box comment", "first tv box comment");
+    }
+
+    @Test
+    void findLatestByItemIdIn_limitedCommentsPerItem_severalItems() {
+        List<ItemComment> results = commentRepository.findLatestByItemIdIn(List.of(1L, 2L), 2);
+
+        assertThat(results.stream().map(ItemComment::getItemId).collect(Collectors.toList()))
+                .containsExactly(1L, 2L, 2L);
+        assertThat(results.stream().map(comment -> comment.getComment().getText()).collect(Collectors.toList()))
+                .containsExactly("super interesting good book", "third tv box comment", "second tv box comment");
+        assertThat(results.get(0).getComment().getAuthorName()).isEqualTo("Sam");
+        assertThat(results.get(0).getComment().getCreated()).isNotNull();
+    }
+}
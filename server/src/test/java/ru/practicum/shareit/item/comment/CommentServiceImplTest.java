@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
@@ -15,6 +16,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -62,32 +64,102 @@ class CommentServiceImplTest {
 
     @Test
     void createRequest_successfulCreated_userIdExistAndRequestIsCorrect() {
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+
         underTest.createComment(comment);
 
         verify(commentRepository, times(1)).save(any(Comment.class));
     }
 
     @Test
-    void getAllByItemId_notEmptyList_commentsExist() {
-        when(commentRepository.findAllByItemId(anyLong()))
-                .thenReturn(List.of(comment));
+    void getLatestCommentsByItemId_notEmptyListFromCache_commentsExist() {
+        item.setId(101L);
+        when(commentRepository.findLatestByItemIdIn(eq(List.of(101L)), anyLong()))
+                .thenReturn(List.of(itemComment(101L, comment)));
 
-        List<CommentResponse> result = underTest.getAllCommentsByItemId(1L);
+        List<CommentResponse> result = underTest.getLatestCommentsByItemId(101L);
+        underTest.getLatestCommentsByItemId(101L);
 
-        verify(commentRepository, times(1)).findAllByItemId(anyLong());
+        verify(commentRepository, times(1)).findLatestByItemIdIn(eq(List.of(101L)), anyLong());
         assertFalse(result.isEmpty());
         assertEquals(comment.getText(), result.get(0).getText());
         assertEquals(comment.getAuthor().getName(), result.get(0).getAuthorName());
     }
 
     @Test
-    void getAllByItemId_emptyList_commentsExist() {
-        when(commentRepository.findAllByItemId(anyLong()))
+    void getLatestCommentsByItemId_emptyList_commentsDoNotExist() {
+        when(commentRepository.findLatestByItemIdIn(eq(List.of(102L)), anyLong()))
                 .thenReturn(List.of());
 
-        List<CommentResponse> result = underTest.getAllCommentsByItemId(1L);
+        List<CommentResponse> result = underTest.getLatestCommentsByItemId(102L);
 
-        verify(commentRepository, times(1)).findAllByItemId(anyLong());
+        verify(commentRepository, times(1)).findLatestByItemIdIn(eq(List.of(102L)), anyLong());
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getLatestCommentsByItemId_newCommentFirst_commentCreatedAfterCaching() {
+        item.setId(103L);
+        when(commentRepository.findLatestByItemIdIn(eq(List.of(103L)), anyLong()))
+                .thenReturn(List.of(itemComment(103L, comment)));
+        underTest.getLatestCommentsByItemId(103L);
+
+        Comment newComment = Comment.builder()
+                .id(2L)
+                .text("still good")
+                .author(user1)
+                .item(item)
+                .created(LocalDateTime.now())
+                .build();
+        when(commentRepository.save(any(Comment.class))).thenReturn(newComment);
+        underTest.createComment(newComment);
+
+        List<CommentResponse> result = underTest.getLatestCommentsByItemId(103L);
+
+        verify(commentRepository, times(1)).findLatestByItemIdIn(eq(List.of(103L)), anyLong());
+        assertEquals(2, result.size());
+        assertEquals("still good", result.get(0).getText());
+    }
+
+    @Test
+    void getCommentsByItemId_keysetPage_beforeIsPresent() {
+        when(commentRepository.findAllByItemIdAndIdLessThanOrderByIdDesc(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(comment));
+
+        List<CommentResponse> result = underTest.getCommentsByItemId(1L, 5L, 10);
+
+        verify(commentRepository, times(1))
+                .findAllByItemIdAndIdLessThanOrderByIdDesc(eq(1L), eq(5L), any(Pageable.class));
+        verify(commentRepository, never()).findAllByItemIdOrderByIdDesc(anyLong(), any(Pageable.class));
+        assertEquals(1, result.size());
+    }
+
+    private static ItemComment itemComment(Long itemId, Comment comment) {
+        return new ItemComment() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return comment.getId();
+            }
+
+            @Override
+            public String getText() {
+                return comment.getText();
+            }
+
+            @Override
+            public String getAuthorName() {
+                return comment.getAuthor().getName();
+            }
+
+            @Override
+            public LocalDateTime getCreated() {
+                return comment.getCreated();
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+    private GeoGrid<String> grid;
+
+    @BeforeEach
+    void prepare() {
+        grid = new GeoGrid<>(0.05);
+        grid.put(1L, 55.7558, 37.6173, "drill");
+        grid.put(2L, 55.7600, 37.6200, "saw");
+        grid.put(3L, 55.8000, 37.7000, "drill bits");
+        grid.put(4L, 59.9343, 30.3351, "drill");
+    }
+
+    @Test
+    void nearest_idsNearestFirst_pointsWithinRadius() {
+        assertEquals(List.of(1L, 2L, 3L), grid.nearest(55.7558, 37.6173, 10, value -> true));
+    }
+
+    @Test
+    void nearest_onlyMatchingIds_filterGiven() {
+        assertEquals(List.of(1L, 3L), grid.nearest(55.7558, 37.6173, 10, value -> value.contains("drill")));
+    }
+
+    @Test
+    void nearest_pointsAcrossAntimeridian_searchNearDateLine() {
+        grid.put(5L, 0, 179.99, "tent");
+        grid.put(6L, 0, -179.99, "tent");
+
+        assertEquals(List.of(5L, 6L), grid.nearest(0, 179.995, 5, value -> true));
+    }
+
+    @Test
+    void remove_pointNotFound_pointMoved() {
+        grid.put(1L, 59.9343, 30.3351, "drill");
+        grid.remove(2L);
+
+        assertEquals(List.of(3L), grid.nearest(55.7558, 37.6173, 10, value -> true));
+        assertEquals(3, grid.size());
+    }
+
+    @Test
+    void distanceKm_knownDistance_moscowAndSaintPetersburg() {
+        assertEquals(634, GeoGrid.distanceKm(55.7558, 37.6173, 59.9343, 30.3351), 5);
+    }
+}
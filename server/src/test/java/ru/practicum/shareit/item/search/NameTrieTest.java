@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameTrieTest {
+    private NameTrie trie;
+
+    @BeforeEach
+    void prepare() {
+        trie = new NameTrie();
+        trie.put("Drill", 1L);
+        trie.put("Drill bits", 2L);
+        trie.put("Driver set", 3L);
+        trie.put("Dress", 4L);
+        trie.put("Book", 5L);
+    }
+
+    @Test
+    void complete_namesInLexicographicOrder_prefixMatchesSeveralNames() {
+        assertEquals(List.of("Drill", "Drill bits", "Driver set"), names(trie.complete("DRI", 10)));
+        assertEquals(List.of("Drill", "Drill bits"), names(trie.complete("dri", 2)));
+    }
+
+    @Test
+    void complete_emptyList_prefixNotIndexed() {
+        assertTrue(trie.complete("saw", 10).isEmpty());
+    }
+
+    @Test
+    void completeFuzzy_closestNamesFirst_prefixMisspelled() {
+        List<ItemSuggestion> result = trie.completeFuzzy("drlil", 1, 10);
+
+        assertFalse(result.isEmpty());
+        assertTrue(names(result).contains("Drill"));
+        assertFalse(names(result).contains("Book"));
+    }
+
+    @Test
+    void completeFuzzy_nearestNamesWithinLimit_moreNamesMatch() {
+        assertEquals(List.of("Drill", "Drill bits"), names(trie.completeFuzzy("dri", 1, 2)));
+        assertEquals(List.of("Dress"), names(trie.completeFuzzy("dre", 1, 1)));
+        assertEquals(List.of("Dress", "Drill", "Drill bits"), names(trie.completeFuzzy("dre", 1, 3)));
+    }
+
+    @Test
+    void completeFuzzy_emptyList_tooManyEdits() {
+        assertTrue(trie.completeFuzzy("brush", 1, 10).isEmpty());
+    }
+
+    @Test
+    void remove_nameNotSuggested_itemRemoved() {
+        trie.remove("Drill bits", 2L);
+        trie.remove("Drill bits", 2L);
+
+        assertEquals(4, trie.size());
+        assertEquals(List.of("Drill", "Driver set"), names(trie.complete("dri", 10)));
+    }
+
+    private List<String> names(List<ItemSuggestion> suggestions) {
+        return suggestions.stream().map(ItemSuggestion::getName).collect(Collectors.toList());
+    }
+}
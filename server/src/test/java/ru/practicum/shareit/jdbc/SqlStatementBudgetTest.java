@@ -0,0 +1,130 @@
+package ru.practicum.shareit.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequest;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.StatementBudget;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.jdbc.server-timing=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SqlStatementBudgetTest {
+    private final MockMvc mvc;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+
+    @Test
+    void getItem_withinStatementBudget_ownerRequestsItem() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder().name("Budget").email("budget@mail.ru").build());
+        ItemResponse item = itemService.createItem(ItemRequest.builder().name("Drill").description("Drill")
+                .available(true).build(), owner.getId());
+
+        mvc.perform(get("/items/{itemId}", item.getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(4))
+                .andExpect(StatementBudget.reportedInServerTiming());
+    }
+
+    @Test
+    void getItems_withinStatementBudget_ownerHasSeveralItems() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder().name("Owner").email("owner@mail.ru").build());
+        for (int i = 0; i < 5; i++) {
+            itemService.createItem(ItemRequest.builder().name("Item " + i).description("Item")
+                    .available(true).build(), owner.getId());
+        }
+
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()).param("comments", "true"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(6));
+    }
+
+    @Test
+    void getOwnerBookings_withinStatementBudget_ownerHasSeveralBookings() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder().name("Owner").email("bookings@mail.ru").build());
+        UserDto booker = userService.createUser(UserDto.builder().name("Booker").email("booker@mail.ru").build());
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ItemResponse item = itemService.createItem(ItemRequest.builder().name("Item " + i).description("Item")
+                    .available(true).build(), owner.getId());
+            bookingIds.add(bookingService.createBooking(booker.getId(), BookingRequest.builder()
+                    .itemId(item.getId())
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build()).getId());
+        }
+
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()).param("state", "ALL"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(4));
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId())
+                        .param("ids", bookingIds.stream().map(String::valueOf).toArray(String[]::new)))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(1));
+    }
+
+    @Test
+    void approveBookings_withinStatementBudget_ownerApprovesSeveralBookings() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder().name("Owner").email("approver@mail.ru").build());
+        UserDto booker = userService.createUser(UserDto.builder().name("Booker").email("waiting@mail.ru").build());
+        List<String> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ItemResponse item = itemService.createItem(ItemRequest.builder().name("Item " + i).description("Item")
+                    .available(true).build(), owner.getId());
+            bookingIds.add(String.valueOf(bookingService.createBooking(booker.getId(), BookingRequest.builder()
+                    .itemId(item.getId())
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build()).getId()));
+        }
+
+        mvc.perform(patch("/bookings/approvals").header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookingIds\":[" + String.join(",", bookingIds) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(3 + bookingIds.size()));
+    }
+
+    @Test
+    void getRequestsOtherUsers_withinStatementBudget_requestsHaveItems() throws Exception {
+        UserDto requestor = userService.createUser(UserDto.builder().name("Req").email("requestor@mail.ru").build());
+        UserDto owner = userService.createUser(UserDto.builder().name("Owner").email("answers@mail.ru").build());
+        for (int i = 0; i < 5; i++) {
+            ItemRequestDto request = itemRequestService.createRequest(ItemRequestDto.builder()
+                    .description("Need " + i).build(), requestor.getId());
+            itemService.createItem(ItemRequest.builder().name("Item " + i).description("Item")
+                    .available(true).requestId(request.getId()).build(), owner.getId());
+        }
+
+        mvc.perform(get("/requests/all").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(StatementBudget.atMost(2));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ServiceMetricsAspectTest {
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final BookingService bookingService;
+
+    @Test
+    void time_timerTaggedByMethodAndOutcome_serviceMethodCalled() {
+        String[] tags = {"service", "UserService", "method", "createUser", "outcome", "success", "state", "none"};
+        long before = count(tags);
+
+        userService.createUser(UserDto.builder().name("Metrics").email("metrics@mail.ru").build());
+
+        assertEquals(before + 1, count(tags));
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations").tag("repository", "UserRepository")
+                .timer());
+    }
+
+    @Test
+    void time_timerTaggedByStateAndException_serviceMethodFailed() {
+        String[] tags = {"service", "BookingService", "method", "getBookingsByBookerId", "state", "PAST",
+                "outcome", "error", "exception", "NoFoundObjectException"};
+        long before = count(tags);
+
+        assertThrows(NoFoundObjectException.class,
+                () -> bookingService.getBookingsByBookerId(999L, "past", 0, 10));
+
+        assertEquals(before + 1, count(tags));
+    }
+
+    private long count(String... tags) {
+        Timer timer = meterRegistry.find("shareit.service").tags(tags).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
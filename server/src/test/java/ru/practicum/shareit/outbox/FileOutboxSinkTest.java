@@ -0,0 +1,49 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOutboxSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void onEvents_oneJsonLinePerEvent_severalBatches() throws Exception {
+        Path file = dir.resolve("outbox.jsonl");
+        FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+
+        sink.onEvents(List.of(event(1L, EventType.CREATED)));
+        sink.onEvents(List.of(event(2L, EventType.UPDATED)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+
+        JsonNode line = objectMapper.readTree(lines.get(1));
+        assertEquals(2L, line.get("id").asLong());
+        assertEquals("UPDATED", line.get("eventType").asText());
+        assertEquals("ITEM", line.get("aggregateType").asText());
+        assertEquals("Book", line.get("payload").get("name").asText());
+    }
+
+    private static OutboxEvent event(Long id, EventType eventType) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(AggregateType.ITEM)
+                .aggregateId(10L)
+                .eventType(eventType)
+                .payload("{\"id\":10,\"name\":\"Book\"}")
+                .created(LocalDateTime.of(2023, 6, 1, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.IllegalTransactionStateException;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "shareit.outbox.relay-ms=3600000")
+@AutoConfigureTestDatabase
+@DirtiesContext
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OutboxRelayTest {
+    private final UserService userService;
+    private final Outbox outbox;
+    private final OutboxRelay outboxRelay;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    OutboxListener listener;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_eventsDeliveredOnce_userChanged() {
+        UserDto user = userService.createUser(UserDto.builder().name("Outbox").email("outbox@mail.ru").build());
+        userService.updateUserById(UserDto.builder().name("Outbox updated").build(), user.getId());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(listener, times(1)).onEvents(events.capture());
+        assertThat(events.getValue())
+                .filteredOn(event -> event.getAggregateId().equals(user.getId()))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly(EventType.CREATED, EventType.UPDATED);
+        assertThat(events.getValue().get(0).getPayload()).contains("\"email\":\"outbox@mail.ru\"");
+        assertThat(outboxEventRepository.findAllByDispatchedIsNullOrderByIdAsc(PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void relay_eventsRedelivered_listenerFailed() {
+        doThrow(new IllegalStateException("Sink is down"))
+                .doNothing()
+                .when(listener).onEvents(anyList());
+
+        userService.createUser(UserDto.builder().name("Retry").email("retry@mail.ru").build());
+
+        outboxRelay.relay();
+        assertThat(outboxEventRepository.findAllByDispatchedIsNullOrderByIdAsc(PageRequest.of(0, 10))).isNotEmpty();
+
+        outboxRelay.relay();
+        verify(listener, times(2)).onEvents(anyList());
+        assertThat(outboxEventRepository.findAllByDispatchedIsNullOrderByIdAsc(PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void relay_eventsKeptUndispatched_noListeners() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        OutboxRelay relay = new OutboxRelay(repository, List.of());
+
+        relay.poll();
+        relay.relay();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void cleanup_oldUndispatchedEventsDeleted_noListeners() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.deleteUndispatchedBefore(any())).thenReturn(3);
+        OutboxRelay relay = new OutboxRelay(repository, List.of());
+        ReflectionTestUtils.setField(relay, "retentionMs", 86400000L);
+        ReflectionTestUtils.setField(relay, "undispatchedRetentionMs", 604800000L);
+
+        relay.cleanup();
+
+        ArgumentCaptor<LocalDateTime> dispatched = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> undispatched = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteDispatchedBefore(dispatched.capture());
+        verify(repository).deleteUndispatchedBefore(undispatched.capture());
+        assertThat(Duration.between(undispatched.getValue(), dispatched.getValue())).isEqualTo(Duration.ofDays(6));
+    }
+
+    @Test
+    void deleteUndispatchedBefore_onlyOldPendingEventsDeleted_eventsRecorded() {
+        userService.createUser(UserDto.builder().name("Stale").email("stale@mail.ru").build());
+
+        assertThat(outboxEventRepository.deleteUndispatchedBefore(LocalDateTime.now().minusDays(1))).isZero();
+        assertThat(outboxEventRepository.deleteUndispatchedBefore(LocalDateTime.now().plusSeconds(1))).isPositive();
+        assertThat(outboxEventRepository.findAllByDispatchedIsNullOrderByIdAsc(PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void poll_repositoryQueriedOnceAndAfterWakeUp_noEventsPending() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.findAllByDispatchedIsNullOrderByIdAsc(any())).thenReturn(List.of());
+        OutboxRelay relay = new OutboxRelay(repository, List.of(listener));
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "relayMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxIdleMs", 30000L);
+
+        relay.poll();
+        relay.poll();
+        verify(repository, times(1)).findAllByDispatchedIsNullOrderByIdAsc(any());
+
+        relay.wakeUp();
+        relay.poll();
+        verify(repository, times(2)).findAllByDispatchedIsNullOrderByIdAsc(any());
+    }
+
+    @Test
+    void record_illegalTransactionStateException_noTransaction() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outbox.record(AggregateType.USER, 1L, EventType.CREATED, "payload"));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -18,6 +19,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -173,7 +175,7 @@ class ItemRequestControllerTest {
     void getAllRequestOtherUsers_statusBadRequest_ifNoValidParameterRequest() throws Exception {
         doThrow(NoValidArgumentException.class)
                 .when(itemRequestService)
-                .getRequestsOtherUsers(anyLong(), anyInt(), anyInt());
+                .getRequestsOtherUsers(anyLong(), anyInt(), anyInt(), any(), any());
 
         mvc.perform(get("/requests/all")
                         .header(userIdHeader, 1)
@@ -185,7 +187,7 @@ class ItemRequestControllerTest {
 
     @Test
     void getAllRequestOtherUsers_statusOkAndEmptyList_ifRequestsDontExist() throws Exception {
-        when(itemRequestService.getRequestsOtherUsers(anyLong(), anyInt(), anyInt()))
+        when(itemRequestService.getRequestsOtherUsers(anyLong(), anyInt(), anyInt(), any(), any()))
                 .thenReturn(List.of());
 
         mvc.perform(get("/requests/all")
@@ -215,7 +217,7 @@ class ItemRequestControllerTest {
                 .items(List.of(itemDto))
                 .build();
 
-        when(itemRequestService.getRequestsOtherUsers(anyLong(), anyInt(), anyInt()))
+        when(itemRequestService.getRequestsOtherUsers(anyLong(), anyInt(), anyInt(), any(), any()))
                 .thenReturn(List.of(response));
 
         mvc.perform(get("/requests/all")
@@ -229,4 +231,33 @@ class ItemRequestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].items[0].name").value("Book"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].requestorId").value(1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequestOtherUsers_statusOk_cursorParametersAreBound() throws Exception {
+        when(itemRequestService.getRequestsOtherUsers(anyLong(), anyInt(), anyInt(), any(), any()))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/requests/all")
+                        .header(userIdHeader, 1)
+                        .param("afterCreated", "2023-06-11T01:13:30")
+                        .param("afterId", "5")
+                        .param("size", "20"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        verify(itemRequestService).getRequestsOtherUsers(1L, 0, 20, LocalDateTime.of(2023, 6, 11, 1, 13, 30), 5L);
+    }
+
+    @Test
+    void streamRequestOtherUsers_asyncStarted_userIdIsCorrect() throws Exception {
+        when(itemRequestService.subscribeToRequestsOtherUsers(anyLong()))
+                .thenReturn(new SseEmitter());
+
+        mvc.perform(get("/requests/stream")
+                        .header(userIdHeader, 1)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        verify(itemRequestService).subscribeToRequestsOtherUsers(1L);
+    }
+}
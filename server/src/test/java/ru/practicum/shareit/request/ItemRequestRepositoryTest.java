@@ -3,13 +3,12 @@ package ru.practicum.shareit.request;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -23,13 +22,36 @@ class ItemRequestRepositoryTest {
     ItemRequestRepository itemRequestRepository;
 
     @Test
-    void findAllByOwnerId_notEmptyList_itemRequestExist() {
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("created").descending());
+    void findPageWithItemsByOtherUsers_requestsNewestFirstWithAllItems_severalItemsAnswerRequest() {
+        List<ItemRequestRow> results = itemRequestRepository.findPageWithItemsByOtherUsers(1L, 10, 0);
 
-        List<ItemRequest> results = itemRequestRepository.findAllByOwnerId(3L, pageable);
+        assertThat(results.stream().map(ItemRequestRow::getRequestId).collect(Collectors.toList()))
+                .containsExactly(1L, 1L, 2L);
+        assertThat(results.stream().map(ItemRequestRow::getItemName).collect(Collectors.toList()))
+                .containsExactly("TV box", "Old tv box", null);
+        assertThat(results.get(0).getCreated()).isEqualTo(LocalDateTime.of(2023, 6, 11, 1, 13, 30));
+        assertThat(results.get(0).getItemOwnerId()).isEqualTo(2L);
+    }
 
-        assertFalse(results.isEmpty());
+    @Test
+    void findPageWithItemsByOtherUsers_onlyOtherUsersRequests_limitAndOffsetApplyToRequests() {
+        List<ItemRequestRow> results = itemRequestRepository.findPageWithItemsByOtherUsers(1L, 1, 1);
+
+        assertThat(results).hasSize(1);
         assertThat(results.get(0).getDescription()).isEqualTo("i need book");
+        assertThat(results.get(0).getItemId()).isNull();
+
+        assertThat(itemRequestRepository.findPageWithItemsByOtherUsers(3L, 10, 0))
+                .extracting(ItemRequestRow::getRequestId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void findPageWithItemsByOtherUsersAfter_nextRequests_cursorIsLastReturnedRequest() {
+        List<ItemRequestRow> results = itemRequestRepository.findPageWithItemsByOtherUsersAfter(1L,
+                LocalDateTime.of(2023, 6, 11, 1, 13, 30), 1L, 10);
+
+        assertThat(results).extracting(ItemRequestRow::getRequestId).containsExactly(2L);
     }
 
     @Test
@@ -5,22 +5,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.feed.ItemRequestFeed;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +42,9 @@ class ItemRequestServiceImplTest {
     @MockBean
     UserService userService;
 
+    @MockBean
+    ItemRequestFeed itemRequestFeed;
+
     User user;
     User user2;
     ItemRequest itemRequest;
@@ -92,9 +99,30 @@ class ItemRequestServiceImplTest {
         when(userService.findUserById(anyLong())).thenReturn(user2);
         when(itemRequestRepository.save(any(ItemRequest.class))).thenReturn(itemRequest);
 
-        underTest.createRequest(request, 1L);
+        ItemRequestDto result = underTest.createRequest(request, 1L);
 
         verify(itemRequestRepository, times(1)).save(any(ItemRequest.class));
+        verify(itemRequestFeed, times(1)).publish(result);
+    }
+
+    @Test
+    void subscribeToRequestsOtherUsers_emitterReturned_userIdIsCorrect() {
+        SseEmitter emitter = new SseEmitter();
+        when(itemRequestFeed.subscribe(anyLong())).thenReturn(emitter);
+
+        assertThat(underTest.subscribeToRequestsOtherUsers(1L)).isEqualTo(emitter);
+
+        verify(userService, times(1)).checkExistUserById(1L);
+    }
+
+    @Test
+    void subscribeToRequestsOtherUsers_notFoundObjectException_userIdIsIncorrect() {
+        doThrow(NoFoundObjectException.class)
+                .when(userService).checkExistUserById(anyLong());
+
+        assertThrows(NoFoundObjectException.class, () -> underTest.subscribeToRequestsOtherUsers(100L));
+
+        verify(itemRequestFeed, never()).subscribe(anyLong());
     }
 
     @Test
@@ -111,8 +139,8 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
-        when(itemService.getAllByRequestIds(any()))
-                .thenReturn(anyList());
+        when(itemService.getItemsByRequestIds(any()))
+                .thenReturn(Map.of());
 
         underTest.getOwnerRequestByUserId(1L);
 
@@ -136,12 +164,30 @@ class ItemRequestServiceImplTest {
         when(itemRequestRepository.findById(anyLong()))
                 .thenReturn(Optional.of(itemRequest));
 
-        when(itemService.getItemByRequestId(anyLong()))
-                .thenReturn(item);
+        when(itemService.getItemsByRequestIds(any()))
+                .thenReturn(Map.of(10L, List.of(ItemMapper.objectToDto(item), ItemMapper.objectToDto(item))));
 
-        underTest.getRequestByUserId(2L, 10L);
+        ItemRequestDto result = underTest.getRequestByUserId(2L, 10L);
 
         verify(itemRequestRepository, times(1)).findById(anyLong());
+        assertThat(result.getItems().size()).isEqualTo(2);
+    }
+
+    @Test
+    void getRequestByUserId_emptyItems_noItemAnswersRequest() {
+        doNothing()
+                .when(userService)
+                .checkExistUserById(anyLong());
+
+        when(itemRequestRepository.findById(anyLong()))
+                .thenReturn(Optional.of(itemRequest));
+
+        when(itemService.getItemsByRequestIds(any()))
+                .thenReturn(Map.of());
+
+        ItemRequestDto result = underTest.getRequestByUserId(2L, 10L);
+
+        assertThat(result.getItems().size()).isEqualTo(0);
     }
 
     @Test
@@ -157,7 +203,7 @@ class ItemRequestServiceImplTest {
         doThrow(NoFoundObjectException.class)
                 .when(userService).checkExistUserById(anyLong());
 
-        assertThrows(NoFoundObjectException.class, () -> underTest.getRequestsOtherUsers(anyLong(), 0, 10));
+        assertThrows(NoFoundObjectException.class, () -> underTest.getRequestsOtherUsers(anyLong(), 0, 10, null, null));
     }
 
     @Test
@@ -166,15 +212,48 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
-        when(itemRequestRepository.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(itemRequest));
+        List<ItemRequestRow> rows = List.of(row(10L, 1L, "Book"), row(10L, 2L, "Old book"), row(11L, null, null));
+        when(itemRequestRepository.findPageWithItemsByOtherUsers(anyLong(), anyInt(), anyLong()))
+                .thenReturn(rows);
+
+        List<ItemRequestDto> result = underTest.getRequestsOtherUsers(2L, 20, 10, null, null);
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.get(0).getId()).isEqualTo(10L);
+        assertThat(result.get(0).getItems().size()).isEqualTo(2);
+        assertThat(result.get(1).getItems().size()).isEqualTo(0);
+
+        verify(itemRequestRepository, times(1)).findPageWithItemsByOtherUsers(2L, 10, 20L);
+        verify(itemService, never()).getItemsByRequestIds(any());
+    }
+
+    @Test
+    void getRequestsOtherUsers_nextPage_cursorIsSet() {
+        LocalDateTime afterCreated = LocalDateTime.of(2023, 2, 10, 17, 10, 5);
+
+        doNothing()
+                .when(userService)
+                .checkExistUserById(anyLong());
+
+        List<ItemRequestRow> rows = List.of(row(9L, null, null));
+        when(itemRequestRepository.findPageWithItemsByOtherUsersAfter(anyLong(), any(), anyLong(), anyInt()))
+                .thenReturn(rows);
 
-        when(itemService.getItemByRequestId(anyLong()))
-                .thenReturn(item);
+        List<ItemRequestDto> result = underTest.getRequestsOtherUsers(2L, 0, 10, afterCreated, 10L);
 
-        underTest.getRequestsOtherUsers(2L, 0, 10);
+        assertThat(result.get(0).getId()).isEqualTo(9L);
+        verify(itemRequestRepository, times(1)).findPageWithItemsByOtherUsersAfter(2L, afterCreated, 10L, 10);
+        verify(itemRequestRepository, never()).findPageWithItemsByOtherUsers(anyLong(), anyInt(), anyLong());
+    }
 
-        verify(itemRequestRepository, times(1)).findAllByOwnerId(anyLong(), any(Pageable.class));
+    @Test
+    void getRequestsOtherUsers_noValidArgumentException_cursorIsIncomplete() {
+        doNothing()
+                .when(userService)
+                .checkExistUserById(anyLong());
+
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.getRequestsOtherUsers(1L, 0, 10, LocalDateTime.now(), null));
     }
 
     @Test
@@ -186,6 +265,16 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
-        assertThrows(NoValidArgumentException.class, () -> underTest.getRequestsOtherUsers(1L, from, size));
+        assertThrows(NoValidArgumentException.class, () -> underTest.getRequestsOtherUsers(1L, from, size, null, null));
+    }
+
+    private ItemRequestRow row(Long requestId, Long itemId, String itemName) {
+        ItemRequestRow row = mock(ItemRequestRow.class);
+        when(row.getRequestId()).thenReturn(requestId);
+        when(row.getRequestorId()).thenReturn(1L);
+        when(row.getDescription()).thenReturn("I need interesting book");
+        when(row.getItemId()).thenReturn(itemId);
+        when(row.getItemName()).thenReturn(itemName);
+        return row;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+package ru.practicum.shareit.request.feed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemRequestFeedTest {
+    private final ItemRequestFeed feed = new ItemRequestFeed(2, 60000, 60000, Executors.newCachedThreadPool());
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void publish_deliveredToOtherUsersOnly_severalSubscribers() throws Exception {
+        RecordingEmitter requestor = new RecordingEmitter();
+        RecordingEmitter owner = new RecordingEmitter();
+        feed.subscribe(1L, requestor);
+        feed.subscribe(2L, owner);
+
+        feed.publish(request(10L, 1L));
+
+        assertEquals(10L, owner.next());
+        assertNull(requestor.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void publish_oldestDropped_subscriberBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter owner = new RecordingEmitter(release);
+        feed.subscribe(2L, owner);
+
+        feed.publish(request(10L, 1L));
+        assertTrue(owner.sending.await(5, TimeUnit.SECONDS));
+        feed.publish(request(11L, 1L));
+        feed.publish(request(12L, 1L));
+        feed.publish(request(13L, 1L));
+        release.countDown();
+
+        assertEquals(List.of(10L, 12L, 13L), List.of(owner.next(), owner.next(), owner.next()));
+        assertNull(owner.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void publish_subscriberRemoved_sendFails() throws Exception {
+        RecordingEmitter owner = new RecordingEmitter();
+        owner.failure = new IOException("Broken pipe");
+        feed.subscribe(2L, owner);
+
+        feed.publish(request(10L, 1L));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    void publish_otherSubscriberServed_oneSubscriberStalled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release);
+        RecordingEmitter owner = new RecordingEmitter();
+        feed.subscribe(2L, stalled);
+        feed.subscribe(3L, owner);
+
+        feed.publish(request(10L, 1L));
+
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+        assertEquals(10L, owner.next());
+        release.countDown();
+        assertEquals(10L, stalled.next());
+    }
+
+    @Test
+    void heartbeat_commentSent_subscriberIsIdle() throws Exception {
+        RecordingEmitter owner = new RecordingEmitter();
+        feed.subscribe(2L, owner);
+
+        feed.heartbeat();
+
+        assertEquals(":heartbeat", owner.comments.poll(5, TimeUnit.SECONDS).trim());
+        assertEquals(1, feed.getSubscriberCount());
+    }
+
+    @Test
+    void heartbeat_subscriberRemoved_sendTimedOut() throws Exception {
+        ItemRequestFeed shortTimeoutFeed = new ItemRequestFeed(2, 60000, 50, Executors.newCachedThreadPool());
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release);
+        try {
+            shortTimeoutFeed.subscribe(2L, stalled);
+            shortTimeoutFeed.publish(request(10L, 1L));
+            assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+
+            shortTimeoutFeed.heartbeat();
+
+            assertEquals(0, shortTimeoutFeed.getSubscriberCount());
+        } finally {
+            release.countDown();
+            shortTimeoutFeed.shutdown();
+        }
+    }
+
+    @Test
+    void heartbeat_returnsWhileSendBlocked_sendHoldsEmitterMonitor() throws Exception {
+        ItemRequestFeed shortTimeoutFeed = new ItemRequestFeed(2, 60000, 50, Executors.newCachedThreadPool());
+        CountDownLatch release = new CountDownLatch(1);
+        LockingEmitter stalled = new LockingEmitter(release);
+        try {
+            shortTimeoutFeed.subscribe(2L, stalled);
+            shortTimeoutFeed.publish(request(10L, 1L));
+            assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(1), shortTimeoutFeed::heartbeat);
+            assertEquals(0, shortTimeoutFeed.getSubscriberCount());
+
+            release.countDown();
+            assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            shortTimeoutFeed.shutdown();
+        }
+    }
+
+    private static ItemRequestDto request(Long id, Long requestorId) {
+        return ItemRequestDto.builder().id(id).requestorId(requestorId).description("I need a book").build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<Long> sent = new LinkedBlockingQueue<>();
+        private final BlockingQueue<String> comments = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private IOException failure;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(ItemRequestDto.class::isInstance)
+                    .forEach(data -> sent.add(((ItemRequestDto) data).getId()));
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(data -> data instanceof String && ((String) data).startsWith(":"))
+                    .forEach(data -> comments.add((String) data));
+        }
+
+        Long next() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class LockingEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        LockingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed.countDown();
+        }
+    }
+}
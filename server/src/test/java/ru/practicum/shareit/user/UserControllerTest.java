@@ -9,13 +9,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -181,4 +181,36 @@ class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email").isString())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email").value("nikita@mail.ru"));
     }
+
+    @Test
+    void createUser_statusConflict_emailAlreadyExists() throws Exception {
+        UserDto request = UserDto.builder()
+                .name("Mike")
+                .email("mike@mail.ru")
+                .build();
+
+        doThrow(ConflictException.class)
+                .when(userService).createUser(any(UserDto.class));
+
+        mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("CONFLICT"));
+    }
+
+    @Test
+    void getUsersByIds_statusOk_idsParamPresent() throws Exception {
+        when(userService.getUsersByIds(anyList()))
+                .thenReturn(List.of(UserDto.builder().id(1L).name("Mike").email("mike@mail.ru").build()));
+
+        mvc.perform(MockMvcRequestBuilders.get("/users")
+                        .param("ids", "1,2"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("mike@mail.ru"));
+
+        verify(userService, never()).getAllUsers();
+    }
 }
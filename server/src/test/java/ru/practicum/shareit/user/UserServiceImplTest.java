@@ -5,15 +5,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+import ru.practicum.shareit.outbox.AggregateType;
+import ru.practicum.shareit.outbox.EventType;
+import ru.practicum.shareit.outbox.Outbox;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -25,6 +35,9 @@ class UserServiceImplTest {
     @MockBean
     UserRepository userRepository;
 
+    @MockBean
+    Outbox outbox;
+
     User user1;
 
     User user2;
@@ -53,9 +66,22 @@ class UserServiceImplTest {
 
         when(userRepository.save(any(User.class))).thenReturn(user1);
 
-        underTest.createUser(request);
+        UserDto result = underTest.createUser(request);
 
         verify(userRepository, times(1)).save(any(User.class));
+        verify(outbox, times(1)).record(AggregateType.USER, user1.getId(), EventType.CREATED, result);
+    }
+
+    @Test
+    void createUser_conflictException_emailTakenInDatabase() {
+        UserDto request = UserDto.builder()
+                .name("Tom")
+                .email("tom@mail.ru")
+                .build();
+
+        when(userRepository.save(any(User.class))).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(ConflictException.class, () -> underTest.createUser(request));
     }
 
     @Test
@@ -183,6 +209,7 @@ class UserServiceImplTest {
         underTest.deleteUserById(1L);
 
         verify(userRepository, times(1)).deleteById(anyLong());
+        verify(outbox, times(1)).record(eq(AggregateType.USER), eq(1L), eq(EventType.DELETED), any());
     }
 
     @Test
@@ -192,4 +219,25 @@ class UserServiceImplTest {
 
         assertThrows(NoFoundObjectException.class, () -> underTest.deleteUserById(100L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUsersByIds_noValidArgumentException_tooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(NoValidArgumentException.class, () -> underTest.getUsersByIds(ids));
+        assertThrows(NoValidArgumentException.class, () -> underTest.getUsersByIds(List.of()));
+        verify(userRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void getUsersByIds_usersInRequestedOrder_someUsersDoNotExist() {
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user1, user2));
+
+        List<UserDto> results = underTest.getUsersByIds(List.of(2L, 3L, 1L));
+
+        verify(userRepository, times(1)).findAllById(anyCollection());
+        assertEquals(2, results.size());
+        assertEquals(2L, results.get(0).getId());
+        assertEquals(1L, results.get(1).getId());
+    }
+}
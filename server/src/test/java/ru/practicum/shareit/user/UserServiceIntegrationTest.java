@@ -5,9 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequest;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.geo.ItemGeoIndex;
+import ru.practicum.shareit.item.search.ItemNameIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -16,6 +35,10 @@ import static org.junit.jupiter.api.Assertions.*;
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class UserServiceIntegrationTest {
     private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemNameIndex itemNameIndex;
+    private final ItemGeoIndex itemGeoIndex;
 
     @Test
     void createUser_shouldException_createUserWithNotUniqueEmail() {
@@ -28,7 +51,104 @@ class UserServiceIntegrationTest {
         assertEquals("uniquemail@mail.mail", user1.getEmail());
         assertNotNull(foundUser1);
 
-        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userRequest2));
+        assertThrows(ConflictException.class, () -> userService.createUser(userRequest2));
+    }
+
+    @Test
+    void createUser_shouldException_emailDiffersOnlyByCase() {
+        userService.createUser(UserDto.builder().name("username").email("CaseMail@mail.mail").build());
+
+        assertThrows(ConflictException.class, () -> userService.createUser(UserDto.builder()
+                .name("secondUser")
+                .email("casemail@MAIL.mail")
+                .build()));
+    }
+
+    @Test
+    void updateUserById_emailReleased_userChangedEmail() {
+        UserDto user = userService.createUser(UserDto.builder().name("username").email("old@mail.mail").build());
+
+        userService.updateUserById(UserDto.builder().email("new@mail.mail").build(), user.getId());
+        UserDto other = userService.createUser(UserDto.builder().name("other").email("old@mail.mail").build());
+
+        assertEquals("old@mail.mail", other.getEmail());
+        assertThrows(ConflictException.class, () -> userService.updateUserById(UserDto.builder()
+                .email("NEW@mail.mail")
+                .build(), other.getId()));
+    }
+
+    @Test
+    void createUser_onlyOneUserCreated_concurrentSignupsWithSameEmail() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                UserDto request = UserDto.builder().name("user" + i).email("burst@mail.mail").build();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createUser(request);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<UserDto> future : futures) {
+                try {
+                    future.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                }
+            }
+
+            assertEquals(1, created);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deleteUserById_ownerCountersDecremented_bookerDeleted() {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("owner@delete.test").build());
+        UserDto booker = userService.createUser(UserDto.builder().name("booker").email("booker@delete.test").build());
+        ItemResponse item = itemService.createItem(ItemRequest.builder()
+                .name("Ladder")
+                .description("Tall ladder")
+                .available(true)
+                .build(), owner.getId());
+        bookingService.createBooking(booker.getId(), BookingRequest.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        assertEquals(1L, bookingService.getOwnerCounters(owner.getId()).get(BookingState.WAITING));
+
+        userService.deleteUserById(booker.getId());
+
+        Map<BookingState, Long> counters = bookingService.getOwnerCounters(owner.getId());
+        assertEquals(0L, counters.get(BookingState.ALL));
+        assertEquals(0L, counters.get(BookingState.FUTURE));
+        assertEquals(0L, counters.get(BookingState.WAITING));
     }
 
-}
\ No newline at end of file
+    @Test
+    void deleteUserById_ownerItemsRemovedFromIndexes_ownerDeleted() {
+        UserDto owner = userService.createUser(UserDto.builder().name("owner").email("indexed@delete.test").build());
+        ItemResponse item = itemService.createItem(ItemRequest.builder()
+                .name("Theodolite")
+                .description("Survey instrument")
+                .available(true)
+                .latitude(10.0)
+                .longitude(10.0)
+                .build(), owner.getId());
+        assertEquals(List.of(item.getId()), itemGeoIndex.nearest(10.0, 10.0, 1, "theodolite"));
+        assertEquals(1, itemNameIndex.suggest("theodol", 10).size());
+
+        userService.deleteUserById(owner.getId());
+
+        assertTrue(itemGeoIndex.nearest(10.0, 10.0, 1, "theodolite").isEmpty());
+        assertTrue(itemNameIndex.suggest("theodol", 10).isEmpty());
+    }
+}
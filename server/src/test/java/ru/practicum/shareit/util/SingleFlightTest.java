@@ -0,0 +1,76 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NoFoundObjectException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_oneComputation_concurrentCallsWithSameKey() throws Exception {
+        int threads = 8;
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            futures.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                computations.incrementAndGet();
+                await(release);
+                return "item";
+            })));
+            while (singleFlight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            for (int i = 1; i < threads; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    computations.incrementAndGet();
+                    return "other";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertEquals("item", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertEquals(0, singleFlight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_newComputation_previousCallFinished() {
+        assertEquals("first", singleFlight.execute(1L, () -> "first"));
+        assertEquals("second", singleFlight.execute(1L, () -> "second"));
+    }
+
+    @Test
+    void execute_exceptionRethrown_computationFailed() {
+        assertThrows(NoFoundObjectException.class, () -> singleFlight.execute(1L, () -> {
+            throw new NoFoundObjectException("not found");
+        }));
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
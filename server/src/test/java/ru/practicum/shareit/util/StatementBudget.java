@@ -0,0 +1,34 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.jdbc.SqlStatementFilter;
+import ru.practicum.shareit.jdbc.SqlStatementStats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementBudget {
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            SqlStatementStats stats = (SqlStatementStats) result.getRequest()
+                    .getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+            assertNotNull(stats, "SQL statements are not recorded, is the request served by the full context?");
+            assertTrue(stats.getCount() <= statements, () -> String.format(
+                    "Expected at most %d SQL statements for %s %s but %d were executed",
+                    statements, result.getRequest().getMethod(), result.getRequest().getRequestURI(),
+                    stats.getCount()));
+        };
+    }
+
+    public static ResultMatcher reportedInServerTiming() {
+        return result -> {
+            SqlStatementStats stats = (SqlStatementStats) result.getRequest()
+                    .getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+            assertNotNull(stats, "SQL statements are not recorded, is the request served by the full context?");
+            assertEquals(String.format("db;dur=%d;desc=\"%d statements\"", stats.getTimeMs(), stats.getCount()),
+                    result.getResponse().getHeader(SqlStatementFilter.SERVER_TIMING_HEADER));
+        };
+    }
+}
@@ -12,7 +12,23 @@ INSERT INTO requests (description, requestor_id, date_created) VALUES
 
 INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES
             ('TV box', 'cool tv box', true, 2, 1);
+INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES
+            ('Old tv box', 'old but working tv box', true, 3, 1);
 
 INSERT INTO comments (text, item_id, author_id, created) VALUES
     ('super interesting good book', 1, 3, '2023-06-25T10:10:30');
 
+
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES
+    ('2023-06-01T10:00:00', '2023-06-02T10:00:00', 1, 3, 'WAITING');
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES
+    ('2023-06-05T10:00:00', '2023-06-06T10:00:00', 1, 3, 'REJECTED');
+INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES
+    ('2023-06-20T10:00:00', '2023-06-21T10:00:00', 1, 3, 'APPROVED');
+
+INSERT INTO comments (text, item_id, author_id, created) VALUES
+    ('first tv box comment', 2, 1, '2023-06-26T10:10:30');
+INSERT INTO comments (text, item_id, author_id, created) VALUES
+    ('second tv box comment', 2, 1, '2023-06-27T10:10:30');
+INSERT INTO comments (text, item_id, author_id, created) VALUES
+    ('third tv box comment', 2, 3, '2023-06-28T10:10:30');